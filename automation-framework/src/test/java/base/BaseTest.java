@@ -1,95 +1,119 @@
 package base;
 
+import utils.AccountPool;
+import utils.LocatorRegistry;
 import utils.MainFunctionalities;
+import utils.Pacing;
 import utils.SeleniumHelper;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.Cookie;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.interactions.Interactive;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 import org.testng.ITestResult;
 import org.testng.ITestContext;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.core.LoggerContext;
-import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
-import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
-import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
-
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.time.Duration;
+import org.apache.logging.log4j.ThreadContext;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class BaseTest {
     private static ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
-    protected WebDriver driver;
+
+    // Runs the Cloudflare bypass next to browser startup; bypasses mostly wait on I/O, so virtual threads fit
+    private static final ExecutorService setupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Routes every call to the session owned by the calling thread, so parallel tests sharing an instance stay isolated
+    protected WebDriver driver = threadBoundDriver();
     protected Logger logger = LogManager.getLogger(this.getClass()); // Initialize logger in constructor
 
     @BeforeMethod
     public void setUp(ITestResult result, ITestContext context) {
         String testName = result.getMethod().getMethodName();
-        String testCaseID = result.getMethod().getDescription(); // Extracts @Test description
-
-        if (testCaseID == null || testCaseID.isEmpty()) {
-            testCaseID = "UnknownTC";
-        }
-
-        // Pass the Test Case ID to context
-        context.setAttribute("TestCaseID", testCaseID);
+        String testCaseID = getTestCaseID(result);
 
-        // 📝 Change Log File Location
-        String logDirectoryPath = "E:/Folder/Galal/Courses/Digital Egypt Pioneers Initiative (DEPI) - Software Testing/DEPI Software Tester Graduation Project/automation-framework/reports/logs";
-        String logFilePath = logDirectoryPath + "/" + testCaseID + "_" + testName + ".log";
+        // Pass the Test Case ID to the result (the shared context is not safe across threads)
+        result.setAttribute("TestCaseID", testCaseID);
 
-        try {
-            Files.createDirectories(Paths.get(logDirectoryPath)); // Ensure directory exists
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        // 🐢 Start this test's pacing (sleep) accounting from zero
+        Pacing.resetTestSleep();
 
-        configureLogger(testCaseID + "_" + testName, logFilePath);
-        logger = LogManager.getLogger(testCaseID + "_" + testName);
+        // 📝 Route this thread's log output to the test's own file (see Routing appender in log4j2.xml)
+        ThreadContext.put("testLog", testCaseID + "_" + testName);
 
         logger.info("\n===================================================================================== NEW TEST RUN =====================================================================================");
         logger.info("Logger initialized");
         logger.info("Starting test setup for: " + testName + " (🔢 Test Case ID: " + testCaseID + ")");
 
 
+        // ⏱️ Setup phase timings (ms), attached to the result for TestListener
+        Map<String, Long> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+        result.setAttribute("setupPhases", phases);
+        long setupStart = System.currentTimeMillis();
+
         try {
             String url = "https://demo.nopcommerce.com";
-            Map<String, String> bypassedData = CloudflareBypass.getBypassedData(url);
-
-            if (bypassedData == null || bypassedData.isEmpty()) {
-                logger.error("Cloudflare bypass data retrieval failed!");
-                throw new RuntimeException("Failed to retrieve bypassed HTML.");
-            }
-
-            String bypassedHTML = bypassedData.get("content");
-            String cookiesJson = bypassedData.get("cookies");
 
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--disable-blink-features=AutomationControlled");
-            options.addArguments("user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-            options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
-            options.setExperimentalOption("useAutomationExtension", false);
+            // Step 1: Acquire bypass cookies in the background while the browser is being prepared
+            CompletableFuture<Map<String, String>> bypassFuture = CompletableFuture.supplyAsync(() -> {
+                long start = System.currentTimeMillis();
+                Map<String, String> data = CloudflareBypass.getBypassedData(url);
+                phases.put("bypass", System.currentTimeMillis() - start);
+                return data;
+            }, setupExecutor);
 
-            driver = WebDriverManager.chromedriver().capabilities(options).create();
+            // Step 2: Take a warm browser session from the pool (launches one only on a miss)
+            long phaseStart = System.currentTimeMillis();
+            WebDriver session = DriverPool.acquire();
+            phases.put("driverStart", System.currentTimeMillis() - phaseStart);
 
             // Store driver in local tread after initialization**
-            driverThreadLocal.set(driver);
+            driverThreadLocal.set(session);
+
+            // Step 3: Join the two phases; this wait is the part of the bypass still on the critical path
+            phaseStart = System.currentTimeMillis();
+            Map<String, String> bypassedData;
+            try {
+                bypassedData = bypassFuture.join();
+            } catch (CompletionException e) {
+                throw new RuntimeException("Cloudflare bypass failed: " + e.getCause().getMessage(), e.getCause());
+            }
+            phases.put("bypassWait", System.currentTimeMillis() - phaseStart);
 
-            driver.manage().window().maximize();
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
+            if (bypassedData == null || bypassedData.isEmpty()) {
+                logger.error("Cloudflare bypass data retrieval failed!");
+                throw new RuntimeException("Failed to retrieve bypassed cookies.");
+            }
 
-            driver.get(url);
-            logger.info("Navigated to the site: " + url);
+            String cookiesJson = bypassedData.get("cookies");
+            logger.info("Bypass cookies served from: " + bypassedData.getOrDefault("source", "bypass"));
+            if (bypassedData.containsKey("challengeSeen")) {
+                logger.info("Cloudflare challenge seen: " + bypassedData.get("challengeSeen")
+                        + " (solved: " + bypassedData.get("challengeSolved") + ", " + bypassedData.get("challengeMillis") + "ms)");
+            }
 
             JSONArray cookiesArray;
             try {
@@ -98,22 +122,56 @@ public class BaseTest {
                 logger.error("Invalid JSON for cookies: " + cookiesJson, e);
                 throw new RuntimeException("Failed to parse cookies JSON!", e);
             }
-            for (int i = 0; i < cookiesArray.length(); i++) {
-                JSONObject jsonObject = cookiesArray.getJSONObject(i);
-                Cookie cookie = new Cookie.Builder(jsonObject.getString("name"), jsonObject.getString("value"))
-                        .domain(jsonObject.getString("domain"))
-                        .path(jsonObject.getString("path"))
-                        .isSecure(jsonObject.getBoolean("secure"))
-                        .build();
-                driver.manage().addCookie(cookie);
-                logger.info("Injected cookie: " + jsonObject.getString("name"));
+
+            if (session instanceof ChromiumDriver) {
+                // Step 4: Prime the Cloudflare cookies in one DevTools call, so the very first page load already carries clearance
+                phaseStart = System.currentTimeMillis();
+                primeCookies((ChromiumDriver) session, cookiesArray);
+                phases.put("cookieInjection", System.currentTimeMillis() - phaseStart);
+
+                phaseStart = System.currentTimeMillis();
+                driver.get(url);
+                phases.put("firstNavigation", System.currentTimeMillis() - phaseStart);
+                logger.info("Navigated to the site with primed cookies: " + url);
+            } else {
+                // Fallback for drivers without DevTools: cookies can only be added for the current domain
+                phaseStart = System.currentTimeMillis();
+                driver.get(url);
+                phases.put("firstNavigation", System.currentTimeMillis() - phaseStart);
+                logger.info("Navigated to the site: " + url);
+
+                phaseStart = System.currentTimeMillis();
+                for (int i = 0; i < cookiesArray.length(); i++) {
+                    JSONObject jsonObject = cookiesArray.getJSONObject(i);
+                    Cookie cookie = new Cookie.Builder(jsonObject.getString("name"), jsonObject.getString("value"))
+                            .domain(jsonObject.getString("domain"))
+                            .path(jsonObject.getString("path"))
+                            .isSecure(jsonObject.getBoolean("secure"))
+                            .build();
+                    driver.manage().addCookie(cookie);
+                    logger.info("Injected cookie: " + jsonObject.getString("name"));
+                }
+
+                driver.navigate().refresh();
+                logger.info("Page refreshed with bypassed cookies.");
+                phases.put("cookieInjection", System.currentTimeMillis() - phaseStart);
             }
 
-            driver.navigate().refresh();
-            logger.info("Page refreshed with bypassed cookies.");
+            // Step 5: Cookies that still land on the interstitial are useless to every other test as well
+            if (isChallengePage(session)) {
+                BypassCookieCache.invalidate(url);
+                logger.warn("🛡️ Still on a Cloudflare challenge after injecting cookies from "
+                        + bypassedData.getOrDefault("source", "bypass") + "; cached cookies dropped for " + url);
+            }
+            phases.put("total", System.currentTimeMillis() - setupStart);
+            logger.info("⏱️ Setup phases (ms): " + phases);
 
         } catch (Exception e) {
             logger.error("Failed to set up the browser", e);
+            if (getDriver() != null) {
+                DriverPool.discard(getDriver());
+                driverThreadLocal.remove();
+            }
             throw new RuntimeException("Browser setup failed!", e);
         }
     }
@@ -122,34 +180,98 @@ public class BaseTest {
         return driverThreadLocal.get();
     }
 
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void tearDown(ITestResult result) {
-        if (driver != null) {
-            logger.info("Closing the browser for test: " + result.getMethod().getMethodName());
-            driver.quit();
-            logger.info("Browser closed.");
+        WebDriver session = getDriver();
+        if (session != null) {
+            logger.info("Returning the browser to the pool for test: " + result.getMethod().getMethodName());
+            DriverPool.release(session);
+            driverThreadLocal.remove();
+            logger.info("Browser session released.");
         }
+        AccountPool.releaseAll();
+
+        // 📝 Lines after this (listeners, other tests' setup on this thread) belong in the default log only
+        ThreadContext.remove("testLog");
+    }
+
+    @BeforeSuite(alwaysRun = true)
+    public void warmUpDriverPool() {
+        LocatorRegistry.validate();
+        DriverPool.warmUp();
+        AccountPool.warmUp();
     }
 
-    private void configureLogger(String loggerName, String logFilePath) {
-        LoggerContext context = (LoggerContext) LogManager.getContext(false);
-        ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPool() {
+        DriverPool.shutdown();
+    }
 
-        // Create File Appender
-        builder.add(builder.newAppender("FileAppender", "File")
-                .addAttribute("fileName", logFilePath)
-                .add(builder.newLayout("PatternLayout")
-                        .addAttribute("pattern", "%d{yyyy-MM-dd HH:mm:ss} [%t] %-5level %logger{36} - %msg%n")));
+    @AfterSuite(alwaysRun = true)
+    public void stopBypassDaemon() {
+        BypassDaemonClient.stop();
+    }
 
-        // Create Root Logger
-        builder.add(builder.newRootLogger(org.apache.logging.log4j.Level.INFO)
-                .add(builder.newAppenderRef("FileAppender")));
+    // Network.setCookies accepts the whole batch at once and works before any page of the domain is open
+    private void primeCookies(ChromiumDriver session, JSONArray cookiesArray) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (int i = 0; i < cookiesArray.length(); i++) {
+            JSONObject jsonObject = cookiesArray.getJSONObject(i);
+            Map<String, Object> cookie = new HashMap<>();
+            cookie.put("name", jsonObject.getString("name"));
+            cookie.put("value", jsonObject.getString("value"));
+            cookie.put("domain", jsonObject.getString("domain"));
+            cookie.put("path", jsonObject.optString("path", "/"));
+            cookie.put("secure", jsonObject.optBoolean("secure"));
+            cookie.put("httpOnly", jsonObject.optBoolean("httpOnly"));
+            if (jsonObject.has("sameSite")) {
+                cookie.put("sameSite", jsonObject.getString("sameSite"));
+            }
+            if (jsonObject.optDouble("expires", -1) > 0) {
+                cookie.put("expires", jsonObject.getDouble("expires"));
+            }
+            cookies.add(cookie);
+        }
 
-        // Apply Configuration
-        context.start(builder.build());
-        context.updateLoggers();
+        session.executeCdpCommand("Network.setCookies", Map.of("cookies", cookies));
+        logger.info("Primed " + cookies.size() + " cookie(s) via DevTools.");
     }
 
+    // Same markers as the bypass script and Pacing: the "Just a moment..." / "Attention Required" interstitials
+    private static boolean isChallengePage(WebDriver session) {
+        try {
+            String title = String.valueOf(session.getTitle()).toLowerCase(Locale.ROOT);
+            return title.contains("just a moment") || title.contains("attention required");
+        } catch (Exception e) {
+            return false;
+        }
+    }
 
+    public static String getTestCaseID(ITestResult result) {
+        String testCaseID = result.getMethod().getDescription(); // Extracts @Test description
+        return (testCaseID == null || testCaseID.isEmpty()) ? "UnknownTC" : testCaseID;
+    }
 
-}
\ No newline at end of file
+    private static WebDriver threadBoundDriver() {
+        Class<?>[] interfaces = {WebDriver.class, JavascriptExecutor.class, TakesScreenshot.class, HasCapabilities.class, Interactive.class};
+        return (WebDriver) Proxy.newProxyInstance(BaseTest.class.getClassLoader(), interfaces, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals": return proxy == args[0];
+                    case "hashCode": return System.identityHashCode(proxy);
+                    default: return "ThreadBoundDriver[" + driverThreadLocal.get() + "]";
+                }
+            }
+
+            WebDriver current = driverThreadLocal.get();
+            if (current == null) {
+                throw new IllegalStateException("No browser session is bound to thread: " + Thread.currentThread().getName());
+            }
+            try {
+                return method.invoke(current, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
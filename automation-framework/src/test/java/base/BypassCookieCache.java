@@ -0,0 +1,256 @@
+package base;
+
+import utils.ConfigReader;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-host cache of Cloudflare bypass cookies shared by all test threads.
+ * <p>
+ * Only Cloudflare's own cookies are kept and handed out; the site's session cookies (customer, antiforgery) stay
+ * with the browser that received them, so every test still starts as its own guest.
+ * An entry lives until its earliest cookie expiry or the cf_clearance lifetime, whichever comes first.
+ * Concurrent lookups for the same host wait on a single refresh, and entries are persisted to disk so
+ * consecutive runs can reuse cookies that are still valid.
+ */
+public class BypassCookieCache {
+
+    private static final String CACHE_FILE_PATH = "reports/cache/bypass_cookies.json";
+
+    private static final boolean ENABLED = ConfigReader.getBooleanProperty("bypass.cache.enabled", true);
+    private static final long DEFAULT_TTL_MILLIS = ConfigReader.getIntProperty("bypass.cache.ttlMinutes", 15) * 60_000L;
+    private static final long CLEARANCE_TTL_MILLIS = ConfigReader.getIntProperty("bypass.cache.clearanceTtlMinutes", 25) * 60_000L;
+    private static final long SAFETY_MARGIN_MILLIS = ConfigReader.getIntProperty("bypass.cache.safetySeconds", 60) * 1000L;
+
+    // cf_clearance proves a solved challenge; __cf_bm and _cfuvid are Cloudflare's bot-management and visitor cookies
+    private static final Set<String> CLOUDFLARE_COOKIES = Set.of("cf_clearance", "__cf_bm", "_cfuvid");
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<Map<String, String>>> inFlight = new ConcurrentHashMap<>();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong refreshes = new AtomicLong();
+
+    static {
+        loadFromDisk();
+    }
+
+    private static class Entry {
+        final String cookiesJson;
+        final long expiresAt;
+
+        Entry(String cookiesJson, long expiresAt) {
+            this.cookiesJson = cookiesJson;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isValid() {
+            return expiresAt - SAFETY_MARGIN_MILLIS > System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Returns bypass data for the URL's host, running {@code loader} only when no valid cookies are cached.
+     *
+     * @param url    The page the cookies are needed for
+     * @param loader Performs the actual bypass; a challenge that was not solved with a cf_clearance cookie is never cached
+     * @return Map with "cookies" (JSON array of Cloudflare cookies only) and "source" ("cache" or "bypass"), or an empty map on failure
+     */
+    public static Map<String, String> get(String url, Function<String, Map<String, String>> loader) {
+        if (!ENABLED) {
+            refreshes.incrementAndGet();
+            return cloudflareOnly(loader.apply(url));
+        }
+
+        String host = hostOf(url);
+        Entry entry = entries.get(host);
+        if (entry != null && entry.isValid()) {
+            hits.incrementAndGet();
+            return toData(entry, "cache");
+        }
+
+        misses.incrementAndGet();
+
+        // Single-flight: the first thread refreshes, the others wait for its result
+        CompletableFuture<Map<String, String>> own = new CompletableFuture<>();
+        CompletableFuture<Map<String, String>> running = inFlight.putIfAbsent(host, own);
+        if (running != null) {
+            return running.join();
+        }
+
+        try {
+            // Another thread may have finished a refresh between our lookup and taking the slot
+            entry = entries.get(host);
+            Map<String, String> data;
+            if (entry != null && entry.isValid()) {
+                data = toData(entry, "cache");
+            } else {
+                refreshes.incrementAndGet();
+                data = cloudflareOnly(loader.apply(url));
+                store(host, data);
+            }
+            own.complete(data);
+            return data;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(host, own);
+        }
+    }
+
+    // Drop cached cookies for a host, e.g. after the site served a fresh challenge anyway
+    public static void invalidate(String url) {
+        if (entries.remove(hostOf(url)) != null) {
+            saveToDisk();
+        }
+    }
+
+    // A page served without a challenge is cached for the default TTL; a challenge only once it was solved with a
+    // cf_clearance cookie, since anything else would fail every later test
+    private static void store(String host, Map<String, String> data) {
+        if (data == null || data.isEmpty() || data.get("cookies") == null) return;
+        if ("false".equals(data.get("challengeSolved"))) return;
+
+        String cookiesJson = data.get("cookies");
+        JSONArray cookies = new JSONArray(cookiesJson);
+        if ("true".equals(data.get("challengeSeen")) && !hasClearance(cookies)) return;
+
+        long expiresAt = computeExpiry(cookies);
+        entries.put(host, new Entry(cookiesJson, expiresAt));
+        data.put("source", "bypass");
+        saveToDisk();
+    }
+
+    // Drops the site's own cookies from a bypass result (the caller's map is left untouched)
+    private static Map<String, String> cloudflareOnly(Map<String, String> data) {
+        if (data == null || data.get("cookies") == null) return data;
+        Map<String, String> filtered = new HashMap<>(data);
+        filtered.put("cookies", cloudflareCookies(new JSONArray(data.get("cookies"))).toString());
+        return filtered;
+    }
+
+    private static JSONArray cloudflareCookies(JSONArray cookies) {
+        JSONArray filtered = new JSONArray();
+        for (int i = 0; i < cookies.length(); i++) {
+            JSONObject cookie = cookies.optJSONObject(i);
+            if (cookie != null && CLOUDFLARE_COOKIES.contains(cookie.optString("name"))) {
+                filtered.put(cookie);
+            }
+        }
+        return filtered;
+    }
+
+    private static boolean hasClearance(JSONArray cookies) {
+        for (int i = 0; i < cookies.length(); i++) {
+            JSONObject cookie = cookies.optJSONObject(i);
+            if (cookie != null && "cf_clearance".equals(cookie.optString("name")) && !cookie.optString("value").isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long computeExpiry(JSONArray cookies) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + DEFAULT_TTL_MILLIS;
+
+        for (int i = 0; i < cookies.length(); i++) {
+            JSONObject cookie = cookies.getJSONObject(i);
+
+            // Puppeteer reports expiry in seconds since epoch, -1 for session cookies
+            double expires = cookie.optDouble("expires", -1);
+            if (expires > 0) {
+                expiresAt = Math.min(expiresAt, (long) (expires * 1000));
+            }
+            if ("cf_clearance".equals(cookie.optString("name"))) {
+                expiresAt = Math.min(expiresAt, now + CLEARANCE_TTL_MILLIS);
+            }
+        }
+        return expiresAt;
+    }
+
+    private static Map<String, String> toData(Entry entry, String source) {
+        Map<String, String> data = new HashMap<>();
+        data.put("cookies", entry.cookiesJson);
+        data.put("source", source);
+        return data;
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = new URI(url).getHost();
+            return host != null ? host : url;
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
+    private static void loadFromDisk() {
+        if (!ENABLED) return;
+        Path path = Paths.get(CACHE_FILE_PATH);
+        if (!Files.exists(path)) return;
+
+        try {
+            JSONObject json = new JSONObject(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            for (String host : json.keySet()) {
+                JSONObject item = json.getJSONObject(host);
+                // Files written before site cookies were filtered out may still hold them
+                Entry entry = new Entry(cloudflareCookies(item.getJSONArray("cookies")).toString(), item.getLong("expiresAt"));
+                if (entry.isValid()) {
+                    entries.put(host, entry);
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("⚠️ Ignoring unreadable bypass cookie cache: " + e.getMessage());
+        }
+    }
+
+    private static synchronized void saveToDisk() {
+        JSONObject json = new JSONObject();
+        entries.forEach((host, entry) -> json.put(host, new JSONObject()
+                .put("cookies", new JSONArray(entry.cookiesJson))
+                .put("expiresAt", entry.expiresAt)));
+
+        try {
+            Path path = Paths.get(CACHE_FILE_PATH);
+            Files.createDirectories(path.getParent());
+
+            // Write then move so a crash never leaves a half-written cache behind
+            Path temp = Paths.get(CACHE_FILE_PATH + ".tmp");
+            Files.write(temp, json.toString(2).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("⚠️ Failed to persist bypass cookie cache: " + e.getMessage());
+        }
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static long getRefreshes() {
+        return refreshes.get();
+    }
+}
@@ -0,0 +1,252 @@
+package base;
+
+import utils.ConfigReader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client for the long-lived bypass sidecar (src/test/resources/bypass_daemon.js).
+ * <p>
+ * One node process keeps a browser open and answers newline-delimited JSON requests on stdin/stdout.
+ * Requests from any thread are tagged with an id and multiplexed over the same pipe; the daemon is
+ * health-checked before use and restarted when it crashes.
+ */
+public class BypassDaemonClient {
+    private static final Logger logger = LogManager.getLogger(BypassDaemonClient.class);
+
+    private static final String SCRIPT_PATH = "src/test/resources/bypass_daemon.js";
+    private static final int REQUEST_TIMEOUT = ConfigReader.getIntProperty("bypass.daemon.requestTimeoutSeconds", 90);
+    private static final int PING_TIMEOUT = ConfigReader.getIntProperty("bypass.daemon.pingTimeoutSeconds", 60);
+
+    private static final AtomicLong nextId = new AtomicLong();
+    private static final Map<Long, CompletableFuture<JSONObject>> pending = new ConcurrentHashMap<>();
+
+    // ReentrantLocks rather than monitors: callers are virtual threads, which a blocking monitor would pin
+    private static final ReentrantLock lifecycle = new ReentrantLock();
+    private static final ReentrantLock writeLock = new ReentrantLock();
+
+    private static volatile Process process;
+    private static volatile BufferedWriter stdin;
+    private static volatile boolean healthy;
+    private static volatile CompletableFuture<Void> startup; // set while a started daemon has not answered its ping yet
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(BypassDaemonClient::stop));
+    }
+
+    /**
+     * Sends one bypass request to the daemon and waits for its answer.
+     *
+     * @param url  The page to open through the daemon's browser
+     * @param mode "lean" for cookies and a status digest, "full" to also receive the page HTML
+     * @return The daemon's JSON response (same shape as bypass_cloudflare.js output)
+     */
+    public static JSONObject bypass(String url, String mode) {
+        ensureRunning();
+        return send(new JSONObject().put("type", "bypass").put("url", url).put("mode", mode), REQUEST_TIMEOUT);
+    }
+
+    private static void ensureRunning() {
+        if (isHealthy()) return;
+
+        CompletableFuture<Void> starting;
+        boolean owner = false;
+        lifecycle.lock();
+        try {
+            if (isHealthy()) return;
+            starting = startup;
+            if (starting == null) {
+                if (process != null) {
+                    logger.warn("Bypass daemon is not running, restarting it.");
+                    stop();
+                }
+                start();
+                starting = startup = new CompletableFuture<>();
+                owner = true;
+            }
+        } finally {
+            lifecycle.unlock();
+        }
+
+        if (!owner) {
+            awaitStartup(starting);
+            return;
+        }
+
+        // Health check outside the lock: the daemon only answers a ping once its browser is up
+        try {
+            JSONObject pong = send(new JSONObject().put("type", "ping"), PING_TIMEOUT);
+            if (!pong.optBoolean("pong")) {
+                throw new RuntimeException("Bypass daemon failed its health check: " + pong);
+            }
+            healthy = true;
+            starting.complete(null);
+        } catch (RuntimeException e) {
+            stop();
+            starting.completeExceptionally(e);
+            throw e;
+        } finally {
+            startup = null;
+        }
+    }
+
+    private static boolean isHealthy() {
+        Process current = process;
+        return healthy && current != null && current.isAlive();
+    }
+
+    // Another thread is starting the daemon: wait for its health check instead of starting a second one
+    private static void awaitStartup(CompletableFuture<Void> starting) {
+        try {
+            starting.get(PING_TIMEOUT, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Bypass daemon failed to start: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Bypass daemon did not become healthy within " + PING_TIMEOUT + "s.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for bypass daemon.", e);
+        }
+    }
+
+    private static void start() {
+        try {
+            String scriptPath = new File(SCRIPT_PATH).getAbsolutePath();
+            ProcessBuilder builder = new ProcessBuilder("node", scriptPath);
+            builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+            builder.environment().put("BYPASS_CHALLENGE_TIMEOUT_MS", CloudflareBypass.CHALLENGE_TIMEOUT_MS);
+
+            process = builder.start();
+            stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+            Process owner = process;
+            Thread reader = new Thread(() -> readResponses(owner), "bypass-daemon-reader");
+            reader.setDaemon(true);
+            reader.start();
+
+            logger.info("Bypass daemon started (pid " + process.pid() + ").");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start bypass daemon: " + e.getMessage(), e);
+        }
+    }
+
+    private static JSONObject send(JSONObject request, int timeoutSeconds) {
+        long id = nextId.incrementAndGet();
+        CompletableFuture<JSONObject> response = new CompletableFuture<>();
+        pending.put(id, response);
+
+        try {
+            writeLock.lock();
+            try {
+                BufferedWriter out = stdin;
+                if (out == null) {
+                    throw new IOException("Bypass daemon is not running.");
+                }
+                out.write(request.put("id", id).toString());
+                out.newLine();
+                out.flush();
+            } finally {
+                writeLock.unlock();
+            }
+            return response.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            markUnhealthy();
+            throw new RuntimeException("Bypass daemon did not answer within " + timeoutSeconds + "s.", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Bypass daemon request failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (IOException e) {
+            markUnhealthy();
+            throw new RuntimeException("Failed to write to bypass daemon: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for bypass daemon.", e);
+        } finally {
+            pending.remove(id);
+        }
+    }
+
+    private static void readResponses(Process owner) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(owner.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("{")) continue;
+
+                JSONObject response;
+                try {
+                    response = new JSONObject(line);
+                } catch (Exception e) {
+                    logger.warn("Ignoring malformed bypass daemon output: " + e.getMessage());
+                    continue;
+                }
+
+                CompletableFuture<JSONObject> future = pending.get(response.optLong("id", -1));
+                if (future != null) {
+                    future.complete(response);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Lost connection to bypass daemon: " + e.getMessage());
+        }
+
+        // Daemon exited: fail everything still waiting so callers do not hang until their timeout
+        if (owner == process) {
+            pending.values().forEach(future -> future.completeExceptionally(new IOException("Bypass daemon exited.")));
+            markUnhealthy();
+        }
+    }
+
+    private static void markUnhealthy() {
+        healthy = false;
+    }
+
+    public static void stop() {
+        lifecycle.lock();
+        try {
+            healthy = false;
+            if (process == null) return;
+
+            writeLock.lock();
+            try {
+                stdin.write(new JSONObject().put("type", "shutdown").toString());
+                stdin.newLine();
+                stdin.flush();
+                stdin.close();
+            } catch (IOException ignored) {
+                // Already gone
+            } finally {
+                stdin = null;
+                writeLock.unlock();
+            }
+
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+            process = null;
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+}
@@ -1,64 +1,108 @@
 package base;
 
+import utils.ConfigReader;
+import utils.Pacing;
+
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import org.json.JSONObject;
 import org.json.JSONArray;
 
 public class CloudflareBypass {
 
     private static final String LOG_FILE_PATH = "reports/logs/json_log.log"; // Log file path
-
+    private static final boolean DAEMON_ENABLED = ConfigReader.getBooleanProperty("bypass.daemon.enabled", true);
+    private static final String PROTOCOL = ConfigReader.getProperty("bypass.protocol", "lean"); // lean | full
+    static final String CHALLENGE_TIMEOUT_MS = String.valueOf(ConfigReader.getIntProperty("bypass.challengeTimeoutSeconds", 15) * 1000);
+
+    // Bypass latency for this run, reported by TestListener at suite end
+    private static final AtomicLong bypassRuns = new AtomicLong();
+    private static final AtomicLong bypassMillis = new AtomicLong();
+    private static final AtomicLong challengesSeen = new AtomicLong();
+    private static final AtomicLong challengesUnsolved = new AtomicLong();
+    private static final AtomicLong challengeMillis = new AtomicLong();
+
+    // Serves cookies from the per-host cache and only runs Puppeteer when they are missing or expired
     public static Map<String, String> getBypassedData(String url) {
+        return BypassCookieCache.get(url, CloudflareBypass::runBypass);
+    }
+
+    private static Map<String, String> runBypass(String url) {
+        long start = System.currentTimeMillis();
+        Map<String, String> data = fetchBypassedData(url);
+        bypassRuns.incrementAndGet();
+        bypassMillis.addAndGet(System.currentTimeMillis() - start);
+        return data;
+    }
+
+    private static Map<String, String> fetchBypassedData(String url) {
         Map<String, String> data = new HashMap<>();
 
+        // Long-lived sidecar: one warm browser serves every request
+        if (DAEMON_ENABLED) {
+            try {
+                JSONObject jsonObject = BypassDaemonClient.bypass(url, PROTOCOL);
+                logToFile(digestOf(jsonObject));
+                if (jsonObject.has("error")) {
+                    throw new RuntimeException("Puppeteer Error: " + jsonObject.getString("error"));
+                }
+                return extractData(jsonObject);
+            } catch (Exception e) {
+                logToFile("Bypass daemon request failed, falling back to one-shot script: " + e.getMessage());
+            }
+        }
+
         try {
             // Ensure logs directory exists
             Files.createDirectories(Paths.get("logs"));
 
             // Path to Puppeteer script
             String scriptPath = new File("src/test/resources/bypass_cloudflare.js").getAbsolutePath();
-            ProcessBuilder builder = new ProcessBuilder("node", scriptPath, url);
+            ProcessBuilder builder = new ProcessBuilder("node", scriptPath, url, PROTOCOL);
             builder.redirectErrorStream(true);
+            builder.environment().put("BYPASS_CHALLENGE_TIMEOUT_MS", CHALLENGE_TIMEOUT_MS);
 
             // Start Puppeteer process
             Process process = builder.start();
             BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
 
-            // Read output from Puppeteer
-            StringBuilder response = new StringBuilder();
+            // Parse the first JSON line as soon as it arrives instead of buffering the whole output
+            JSONObject jsonObject = null;
             String line;
             while ((line = reader.readLine()) != null) {
-                response.append(line);
+                line = line.trim();
+                if (line.startsWith("{")) {
+                    jsonObject = new JSONObject(line);
+                    break;
+                }
+                logToFile("Puppeteer output: " + line);
             }
 
+            // Drain whatever is left so the script can exit cleanly
+            while (reader.readLine() != null) {
+                // Discard
+            }
             process.waitFor();
-            String jsonResponse = response.toString().trim();
-
-            // Log output to a file instead of console
-            logToFile(jsonResponse);
 
             // Ensure response is valid JSON
-            if (!jsonResponse.startsWith("{")) {
-                throw new RuntimeException("Invalid JSON from Puppeteer: " + jsonResponse);
+            if (jsonObject == null) {
+                throw new RuntimeException("No JSON received from Puppeteer.");
             }
 
-            // Parse JSON response
-            JSONObject jsonObject = new JSONObject(jsonResponse);
+            // Log a digest to the file instead of the full payload
+            logToFile(digestOf(jsonObject));
 
             // Handle Puppeteer errors gracefully
             if (jsonObject.has("error")) {
                 throw new RuntimeException("Puppeteer Error: " + jsonObject.getString("error"));
             }
 
-            // Extract HTML content and cookies
-            data.put("content", jsonObject.optString("html", ""));
-            JSONArray cookiesArray = jsonObject.optJSONArray("cookies");
-            data.put("cookies", (cookiesArray != null) ? cookiesArray.toString() : "[]");
+            data = extractData(jsonObject);
 
         } catch (Exception e) {
             logToFile("Failed to execute Puppeteer script: " + e.getMessage());
@@ -68,6 +112,73 @@ public class CloudflareBypass {
         return data;
     }
 
+    // Extract cookies plus the status digest (or the HTML content in "full" mode)
+    private static Map<String, String> extractData(JSONObject jsonObject) {
+        Map<String, String> data = new HashMap<>();
+        JSONArray cookiesArray = jsonObject.optJSONArray("cookies");
+        data.put("cookies", (cookiesArray != null) ? cookiesArray.toString() : "[]");
+
+        if (jsonObject.has("html")) {
+            data.put("content", jsonObject.getString("html"));
+        }
+        for (String key : new String[]{"status", "title", "contentHash", "contentLength", "challengeSeen", "challengeSolved", "challengeMillis"}) {
+            if (jsonObject.has(key)) {
+                data.put(key, String.valueOf(jsonObject.get(key)));
+            }
+        }
+
+        if (jsonObject.optInt("status") == 429) {
+            Pacing.signalThrottled("bypass got HTTP 429");
+        }
+        if (jsonObject.optBoolean("challengeSeen")) {
+            Pacing.signalThrottled("Cloudflare challenge");
+            challengesSeen.incrementAndGet();
+            challengeMillis.addAndGet(jsonObject.optLong("challengeMillis"));
+            if (!jsonObject.optBoolean("challengeSolved", true)) {
+                challengesUnsolved.incrementAndGet();
+            }
+        }
+        return data;
+    }
+
+    // One short line per bypass: keeps json_log.log from growing by the size of the page on every test
+    private static String digestOf(JSONObject jsonObject) {
+        if (jsonObject.has("error")) {
+            return "error=" + jsonObject.getString("error");
+        }
+        JSONArray cookiesArray = jsonObject.optJSONArray("cookies");
+        return "status=" + jsonObject.opt("status")
+                + " title=" + jsonObject.opt("title")
+                + " contentHash=" + jsonObject.opt("contentHash")
+                + " contentLength=" + jsonObject.optInt("contentLength", jsonObject.optString("html").length())
+                + " cookies=" + (cookiesArray != null ? cookiesArray.length() : 0)
+                + " challengeSeen=" + jsonObject.optBoolean("challengeSeen")
+                + " challengeSolved=" + jsonObject.optBoolean("challengeSolved", true)
+                + " challengeMillis=" + jsonObject.optLong("challengeMillis");
+    }
+
+    public static long getBypassRuns() {
+        return bypassRuns.get();
+    }
+
+    public static long getAverageBypassMillis() {
+        long runs = bypassRuns.get();
+        return runs == 0 ? 0 : bypassMillis.get() / runs;
+    }
+
+    public static long getChallengesSeen() {
+        return challengesSeen.get();
+    }
+
+    public static long getChallengesUnsolved() {
+        return challengesUnsolved.get();
+    }
+
+    public static long getAverageChallengeMillis() {
+        long seen = challengesSeen.get();
+        return seen == 0 ? 0 : challengeMillis.get() / seen;
+    }
+
     // Method to log output to a file
     private static void logToFile(String message) {
         try {
@@ -0,0 +1,265 @@
+package base;
+
+import utils.ConfigReader;
+import utils.SeleniumHelper;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of pre-started ChromeDriver sessions.
+ * <p>
+ * Sessions are reset between tests (cookies, localStorage, sessionStorage, extra windows)
+ * and quit once they have served {@code driver.pool.maxUses} tests.
+ */
+public class DriverPool {
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+
+    // Same agent as the bypass browser (bypass_core.js): cf_clearance is only honoured for the agent it was issued to
+    public static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+    private static final boolean ENABLED = ConfigReader.getBooleanProperty("driver.pool.enabled", true);
+    private static final int MAX_SIZE = Math.max(1, ConfigReader.getIntProperty("driver.pool.size", 2));
+    private static final int MAX_USES = Math.max(1, ConfigReader.getIntProperty("driver.pool.maxUses", 10));
+    private static final int WARMUP = Math.min(MAX_SIZE, ConfigReader.getIntProperty("driver.pool.warmup", 1));
+    private static final int ACQUIRE_TIMEOUT = ConfigReader.getIntProperty("driver.pool.acquireTimeoutSeconds", 120);
+    // discard() frees a slot without handing a session to anyone, so waiters re-check for free slots this often
+    private static final long WAIT_SLICE_MILLIS = 500;
+
+    private static final LinkedBlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private static final Map<WebDriver, AtomicInteger> uses = new ConcurrentHashMap<>();
+    private static final AtomicInteger created = new AtomicInteger();
+
+    // Metrics exposed to TestListener
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong recycled = new AtomicLong();
+    private static final AtomicLong resets = new AtomicLong();
+    private static final AtomicLong resetTimeMillis = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown));
+    }
+
+    // Pre-start sessions so the first tests do not pay the browser launch
+    public static void warmUp() {
+        if (!ENABLED) return;
+
+        List<Thread> starters = new ArrayList<>();
+        while (created.get() < WARMUP) {
+            if (!reserveSlot()) break;
+            Thread starter = new Thread(() -> {
+                try {
+                    WebDriver driver = createDriver();
+                    uses.put(driver, new AtomicInteger());
+                    idle.offer(driver);
+                } catch (Exception e) {
+                    created.decrementAndGet();
+                    logger.error("Failed to pre-start a browser session", e);
+                }
+            }, "driver-pool-warmup");
+            starters.add(starter);
+            starter.start();
+        }
+
+        for (Thread starter : starters) {
+            try {
+                starter.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("Driver pool warmed up with " + idle.size() + " session(s).");
+    }
+
+    public static WebDriver acquire() {
+        if (!ENABLED) {
+            misses.incrementAndGet();
+            return createDriver();
+        }
+
+        WebDriver driver = idle.pollFirst();
+        if (driver != null) {
+            hits.incrementAndGet();
+            return driver;
+        }
+
+        if (reserveSlot()) {
+            return createPooled();
+        }
+
+        // Pool is at capacity: wait for a session to be handed back, or for a discarded one to free its slot
+        long deadline = System.currentTimeMillis() + ACQUIRE_TIMEOUT * 1000L;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                driver = idle.pollFirst(Math.min(WAIT_SLICE_MILLIS, Math.max(1, deadline - System.currentTimeMillis())), TimeUnit.MILLISECONDS);
+                if (driver != null) {
+                    hits.incrementAndGet();
+                    return driver;
+                }
+                if (reserveSlot()) {
+                    return createPooled();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser session.", e);
+        }
+        throw new RuntimeException("No browser session became available within " + ACQUIRE_TIMEOUT + "s.");
+    }
+
+    // Launches a session into a slot already reserved by the caller
+    private static WebDriver createPooled() {
+        misses.incrementAndGet();
+        WebDriver driver;
+        try {
+            driver = createDriver();
+        } catch (RuntimeException e) {
+            created.decrementAndGet();
+            throw e;
+        }
+        uses.put(driver, new AtomicInteger());
+        return driver;
+    }
+
+    public static void release(WebDriver driver) {
+        if (driver == null) return;
+
+        if (!ENABLED) {
+            quietQuit(driver);
+            return;
+        }
+
+        AtomicInteger count = uses.get(driver);
+        if (count == null || count.incrementAndGet() >= MAX_USES) {
+            recycled.incrementAndGet();
+            discard(driver);
+            return;
+        }
+
+        if (reset(driver)) {
+            idle.offerFirst(driver);
+        } else {
+            recycled.incrementAndGet();
+            discard(driver);
+        }
+    }
+
+    // Drop a session that is broken or can no longer be trusted
+    public static void discard(WebDriver driver) {
+        if (driver == null) return;
+        if (uses.remove(driver) != null) {
+            created.decrementAndGet();
+        }
+        quietQuit(driver);
+    }
+
+    public static void shutdown() {
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            discard(driver);
+        }
+    }
+
+    private static boolean reset(WebDriver driver) {
+        long start = System.currentTimeMillis();
+        try {
+            // Step 1: Close every window except the first one
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i)).close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            // Step 2: Clear web storage while still on the tested origin
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+
+            // Step 3: Clear cookies for every domain, not only the current one
+            if (driver instanceof ChromiumDriver) {
+                ((ChromiumDriver) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Browser session reset failed, session will be replaced: " + e.getMessage());
+            return false;
+        } finally {
+            resets.incrementAndGet();
+            resetTimeMillis.addAndGet(System.currentTimeMillis() - start);
+        }
+    }
+
+    private static boolean reserveSlot() {
+        while (true) {
+            int current = created.get();
+            if (current >= MAX_SIZE) return false;
+            if (created.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    private static WebDriver createDriver() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        options.addArguments("user-agent=" + USER_AGENT);
+        options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
+        options.setExperimentalOption("useAutomationExtension", false);
+
+        WebDriver driver = WebDriverManager.chromedriver().capabilities(options).create();
+        driver.manage().window().maximize();
+        // Zero implicit wait: all waiting goes through SeleniumHelper's explicit WaitEngine, so misses return at once
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        // In-page waits run as async scripts and must be allowed to outlive their timeout budget
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(ConfigReader.getIntProperty("wait.scriptTimeoutSeconds", 60)));
+        return driver;
+    }
+
+    private static void quietQuit(WebDriver driver) {
+        SeleniumHelper.releaseWaits(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Failed to quit browser session: " + e.getMessage());
+        }
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static long getRecycled() {
+        return recycled.get();
+    }
+
+    public static long getResets() {
+        return resets.get();
+    }
+
+    public static long getAverageResetMillis() {
+        long count = resets.get();
+        return count == 0 ? 0 : resetTimeMillis.get() / count;
+    }
+}
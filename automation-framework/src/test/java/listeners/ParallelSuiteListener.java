@@ -0,0 +1,49 @@
+package listeners;
+
+import utils.ConfigReader;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Applies the parallel mode and thread count from config.properties (or -D overrides) to every suite
+ * before it runs, so testng.xml does not need to be edited per environment. Thread counts never exceed the
+ * browser pool size.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String mode = ConfigReader.getProperty("parallel.mode", "none");
+        int threads = Math.max(1, ConfigReader.getIntProperty("parallel.threads", 1));
+        int dataProviderThreads = Math.max(1, ConfigReader.getIntProperty("parallel.dataProviderThreads", threads));
+
+        // More threads than pooled browsers only queue in DriverPool.acquire; data providers run in parallel
+        // even when parallel.mode is none, so they are capped as well
+        if (ConfigReader.getBooleanProperty("driver.pool.enabled", true)) {
+            int browsers = Math.max(1, ConfigReader.getIntProperty("driver.pool.size", 2));
+            if (threads > browsers || dataProviderThreads > browsers) {
+                System.err.println("Warning: Capping parallel threads (" + threads + ") and data provider threads ("
+                        + dataProviderThreads + ") at driver.pool.size=" + browsers + ".");
+                threads = Math.min(threads, browsers);
+                dataProviderThreads = Math.min(dataProviderThreads, browsers);
+            }
+        }
+
+        XmlSuite.ParallelMode parallelMode = XmlSuite.ParallelMode.getValidParallel(mode);
+        if (parallelMode == null) {
+            System.err.println("Warning: Unknown parallel.mode '" + mode + "', running serially.");
+            parallelMode = XmlSuite.ParallelMode.NONE;
+        }
+
+        for (XmlSuite suite : suites) {
+            suite.setParallel(parallelMode);
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(dataProviderThreads);
+            System.out.println("🧵 Suite '" + suite.getName() + "' parallel mode: " + parallelMode + " (threads: " + threads
+                    + ", data provider threads: " + dataProviderThreads + ")");
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package listeners;
+
+import utils.ConfigReader;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Extent reports of a run: one extent-report.html, or with {@code reports.shardBy=class} one small report
+ * per test class under shards/ plus an index.html listing them with their counts.
+ * <p>
+ * Reports are flushed every {@code reports.flushEvery} finished tests rather than only at the end, so a crashed
+ * run still leaves a report and no single render has to cover the whole suite.
+ */
+class ReportShards {
+    private static final Logger logger = LogManager.getLogger(ReportShards.class);
+
+    static final String DIR = ConfigReader.getProperty("reports.dir",
+            "E:/Folder/Galal/Courses/Digital Egypt Pioneers Initiative (DEPI) - Software Testing/DEPI Software Tester Graduation Project/automation-framework/reports/extent-reports");
+    private static final boolean BY_CLASS = "class".equalsIgnoreCase(ConfigReader.getProperty("reports.shardBy", "none").trim());
+    private static final int FLUSH_EVERY = ConfigReader.getIntProperty("reports.flushEvery", 20);
+    private static final String REPORT_NAME = "(demo.nopcommerce.com) Test Automation Report";
+
+    private static final AtomicLong flushes = new AtomicLong();
+    private static final AtomicLong flushMillis = new AtomicLong();
+
+    // A report file and the outcomes recorded in it
+    private static class Shard {
+        final ExtentReports report;
+        final String file;
+        final AtomicInteger passed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+
+        Shard(ExtentReports report, String file) {
+            this.report = report;
+            this.file = file;
+        }
+    }
+
+    private final Map<String, String> systemInfo;
+    private final Shard main;
+    private final Map<String, Shard> shards = new ConcurrentHashMap<>();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    ReportShards(Map<String, String> systemInfo) {
+        this.systemInfo = systemInfo;
+        try {
+            Files.createDirectories(Paths.get(DIR, BY_CLASS ? "shards" : ""));
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("❌ Failed to create Extent Reports directory: " + DIR);
+        }
+        this.main = newShard("extent-report.html", REPORT_NAME);
+    }
+
+    static boolean isSharded() {
+        return BY_CLASS;
+    }
+
+    // The report a test of this class goes into
+    ExtentReports forClass(String className) {
+        return shardOf(className).report;
+    }
+
+    // The suite-wide report (the only one unless sharding by class)
+    ExtentReports main() {
+        return main.report;
+    }
+
+    /**
+     * Counts a finished test and flushes every report once {@code reports.flushEvery} tests have finished
+     * since the last flush.
+     */
+    void testFinished(String className, ScreenshotStore.Outcome outcome) {
+        Shard shard = shardOf(className);
+        if (outcome == ScreenshotStore.Outcome.PASSED) shard.passed.incrementAndGet();
+        else if (outcome == ScreenshotStore.Outcome.FAILED) shard.failed.incrementAndGet();
+        else shard.skipped.incrementAndGet();
+        if (FLUSH_EVERY > 0 && finished.incrementAndGet() % FLUSH_EVERY == 0) {
+            flush();
+        }
+    }
+
+    // Renders every report and the index; only one thread renders at a time
+    synchronized void flush() {
+        long start = System.currentTimeMillis();
+        main.report.flush();
+        for (Shard shard : shards.values()) {
+            shard.report.flush();
+        }
+        if (BY_CLASS) writeIndex();
+        flushes.incrementAndGet();
+        flushMillis.addAndGet(System.currentTimeMillis() - start);
+    }
+
+    private Shard shardOf(String className) {
+        if (!BY_CLASS) return main;
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        return shards.computeIfAbsent(name, n -> newShard("shards/" + n + ".html", n + " - " + REPORT_NAME));
+    }
+
+    private Shard newShard(String file, String reportName) {
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(DIR + "/" + file);
+        sparkReporter.config().setReportName(reportName);
+
+        ExtentReports report = new ExtentReports();
+        report.attachReporter(sparkReporter);
+        systemInfo.forEach(report::setSystemInfo);
+        return new Shard(report, file);
+    }
+
+    // 🗂️ index.html: one row per class shard, failures first, linking the shard reports
+    private void writeIndex() {
+        List<Map.Entry<String, Shard>> rows = new ArrayList<>(new TreeMap<>(shards).entrySet());
+        rows.sort((a, b) -> Integer.compare(b.getValue().failed.get(), a.getValue().failed.get()));
+
+        StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html><head><meta charset='utf-8'><title>")
+                .append(REPORT_NAME).append("</title>\n<style>body{font-family:sans-serif}td,th{padding:4px 12px;text-align:left}"
+                        + ".failed{color:#c62828;font-weight:bold}</style></head><body>\n<h2>")
+                .append(REPORT_NAME).append("</h2>\n<p><a href='extent-report.html'>Suite summary</a></p>\n")
+                .append("<table><tr><th>Class</th><th>Passed</th><th>Failed</th><th>Skipped</th></tr>\n");
+        for (Map.Entry<String, Shard> row : rows) {
+            Shard shard = row.getValue();
+            html.append("<tr><td><a href='").append(shard.file).append("'>").append(row.getKey()).append("</a></td><td>")
+                    .append(shard.passed.get()).append("</td><td").append(shard.failed.get() > 0 ? " class='failed'>" : ">")
+                    .append(shard.failed.get()).append("</td><td>").append(shard.skipped.get()).append("</td></tr>\n");
+        }
+        html.append("</table>\n</body></html>\n");
+
+        try {
+            Files.writeString(Paths.get(DIR, "index.html"), html, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.error("❌ Failed to write report index: " + e.getMessage());
+        }
+    }
+
+    // 🖼️ Lazily loaded thumbnail linking the full-size image (which it falls back to if the thumbnail is missing)
+    static String thumbnailHtml(String screenshotPath) {
+        Path full = Paths.get(screenshotPath);
+        String fullUri = full.toUri().toString();
+        return "<a href='" + fullUri + "' target='_blank'><img src='" + ScreenshotStore.thumbnailOf(full).toUri()
+                + "' loading='lazy' width='" + ScreenshotWriter.THUMBNAIL_WIDTH / 2 + "'"
+                + " onerror=\"this.onerror=null;this.src='" + fullUri + "'\"/></a>";
+    }
+
+    int getShardCount() {
+        return BY_CLASS ? shards.size() : 1;
+    }
+
+    static long getFlushes() {
+        return flushes.get();
+    }
+
+    static long getAverageFlushMillis() {
+        long count = flushes.get();
+        return count == 0 ? 0 : flushMillis.get() / count;
+    }
+}
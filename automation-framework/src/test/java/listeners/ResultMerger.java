@@ -0,0 +1,351 @@
+package listeners;
+
+import utils.ConfigReader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Combines the JSON Lines files written by {@link ResultSink} (one per JVM: parallel threads share a file,
+ * Surefire forks and other machines each have their own) into one summary of the whole run.
+ * <p>
+ * Files are grouped by the {@code runId} in their records (one directory per run under {@code results.dir}),
+ * so earlier runs left in the directory never mix in. Within a run, a test that ran more than once (retried,
+ * or rerun in another shard) counts once, with its latest outcome.
+ * Wall-clock time spans the first record to the last one across all shards; CPU time is the sum of each shard's
+ * process CPU time. Run it after the shards have finished, with the result files or the directory holding them:
+ * <pre>
+ *     mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=listeners.ResultMerger -Dexec.args="reports/results/20261018-101500"
+ * </pre>
+ */
+public class ResultMerger {
+    private static final Logger logger = LogManager.getLogger(ResultMerger.class);
+
+    // The latest end record of one test
+    public static class TestResult {
+        private final String key;
+        private final String testCaseId;
+        private final String status;
+        private final long durationMillis;
+        private final String shard;
+        private final List<String> artifacts;
+        private final String error;
+        private final long timestamp;
+
+        TestResult(String key, JSONObject record) {
+            this.key = key;
+            this.testCaseId = record.optString("testCaseId");
+            this.status = record.optString("status");
+            this.durationMillis = record.optLong("durationMillis");
+            this.shard = record.optString("shard");
+            this.error = record.optString("error", null);
+            this.timestamp = record.optLong("timestamp");
+            this.artifacts = new ArrayList<>();
+            JSONArray paths = record.optJSONArray("artifacts");
+            for (int i = 0; paths != null && i < paths.length(); i++) {
+                artifacts.add(paths.getString(i));
+            }
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getTestCaseId() {
+            return testCaseId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public String getShard() {
+            return shard;
+        }
+
+        public List<String> getArtifacts() {
+            return artifacts;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    // Consolidated view of every shard
+    public static class Summary {
+        private final String runId;
+        private final Map<String, TestResult> tests = new LinkedHashMap<>();
+        private final Map<String, long[]> shardTimes = new LinkedHashMap<>(); // first/last timestamp, first/last CPU ms
+        private final List<Path> sources = new ArrayList<>();
+        private int reruns;
+        private int malformedLines;
+
+        Summary(String runId) {
+            this.runId = runId;
+        }
+
+        public String getRunId() {
+            return runId;
+        }
+
+        public int getPassed() {
+            return count("passed");
+        }
+
+        public int getFailed() {
+            return count("failed");
+        }
+
+        public int getSkipped() {
+            return count("skipped");
+        }
+
+        private int count(String status) {
+            return (int) tests.values().stream().filter(t -> status.equals(t.getStatus())).count();
+        }
+
+        public List<TestResult> getTests() {
+            return new ArrayList<>(tests.values());
+        }
+
+        public int getShards() {
+            return shardTimes.size();
+        }
+
+        public int getFiles() {
+            return sources.size();
+        }
+
+        // Result files this run was read from
+        public List<Path> getSources() {
+            return new ArrayList<>(sources);
+        }
+
+        private long lastTimestamp() {
+            return shardTimes.values().stream().mapToLong(t -> t[1]).max().orElse(Long.MIN_VALUE);
+        }
+
+        // End records superseded by a later run of the same test
+        public int getReruns() {
+            return reruns;
+        }
+
+        // Unparseable lines, e.g. a last line cut off when a shard was killed
+        public int getMalformedLines() {
+            return malformedLines;
+        }
+
+        public long getWallClockMillis() {
+            long first = shardTimes.values().stream().mapToLong(t -> t[0]).min().orElse(0);
+            long last = shardTimes.values().stream().mapToLong(t -> t[1]).max().orElse(0);
+            return last - first;
+        }
+
+        // Process CPU time of all shards together (0 where a JVM could not report it)
+        public long getCpuMillis() {
+            return shardTimes.values().stream().mapToLong(t -> t[2] < 0 ? 0 : t[3] - t[2]).sum();
+        }
+
+        // Sum of test durations: what the run would take with one test at a time
+        public long getTestMillis() {
+            return tests.values().stream().mapToLong(TestResult::getDurationMillis).sum();
+        }
+
+        public JSONObject toJson() {
+            JSONArray results = new JSONArray();
+            for (TestResult test : tests.values()) {
+                results.put(new JSONObject()
+                        .put("test", test.getKey())
+                        .put("testCaseId", test.getTestCaseId())
+                        .put("status", test.getStatus())
+                        .put("durationMillis", test.getDurationMillis())
+                        .put("shard", test.getShard())
+                        .put("artifacts", new JSONArray(test.getArtifacts()))
+                        .putOpt("error", test.getError()));
+            }
+            return new JSONObject()
+                    .put("runId", runId)
+                    .put("files", getFiles())
+                    .put("shards", new JSONArray(new TreeSet<>(shardTimes.keySet())))
+                    .put("passed", getPassed())
+                    .put("failed", getFailed())
+                    .put("skipped", getSkipped())
+                    .put("reruns", reruns)
+                    .put("malformedLines", malformedLines)
+                    .put("wallClockMillis", getWallClockMillis())
+                    .put("cpuMillis", getCpuMillis())
+                    .put("testMillis", getTestMillis())
+                    .put("tests", results);
+        }
+
+        @Override
+        public String toString() {
+            long wall = getWallClockMillis();
+            return "\n🧩 Merged Results of run " + runId + " (" + getShards() + " shard(s), " + getFiles() + " file(s)):\n" +
+                    "✅ Passed: " + getPassed() + "\n" +
+                    "❌ Failed: " + getFailed() + "\n" +
+                    "⚠️ Skipped: " + getSkipped() + "\n" +
+                    "🔁 Reruns: " + reruns + "\n" +
+                    "🕒 Wall clock: " + wall + "ms, CPU: " + getCpuMillis() + "ms, test time: " + getTestMillis() + "ms"
+                    + (wall > 0 ? String.format(" (%.1fx parallel)", (double) getTestMillis() / wall) : "") + "\n";
+        }
+    }
+
+    /**
+     * Merges the run-*.jsonl files of one run directory ({@code results.dir}/&lt;run id&gt;). Given
+     * {@code results.dir} itself, merges its most recently written run.
+     */
+    public static Summary mergeDirectory(Path dir) {
+        List<Path> files = resultFiles(dir);
+        if (files.isEmpty()) {
+            Path latest = latestRunDirectory(dir);
+            if (latest == null) throw new RuntimeException("No result files in " + dir);
+            logger.info("🧩 Merging the most recent run directory " + latest.getFileName() + " of " + dir);
+            files = resultFiles(latest);
+        }
+        return merge(files);
+    }
+
+    /**
+     * Merges the given result files. Records belong to the run named by their {@code runId}; when the files
+     * hold several runs, only the most recent one is merged.
+     */
+    public static Summary merge(List<Path> files) {
+        Map<String, Summary> runs = mergeRuns(files);
+        Summary latest = runs.values().stream()
+                .max((a, b) -> Long.compare(a.lastTimestamp(), b.lastTimestamp()))
+                .orElseGet(() -> new Summary(""));
+        if (runs.size() > 1) {
+            logger.warn("🧩 Result files hold " + runs.size() + " runs " + runs.keySet() + ", merging only " + latest.getRunId());
+        }
+        logger.info("🧩 Merged " + latest.tests.size() + " test(s) of run " + latest.getRunId() + " from " + latest.getFiles() + " result file(s)");
+        return latest;
+    }
+
+    // One summary per run id found in the files
+    public static Map<String, Summary> mergeRuns(List<Path> files) {
+        Map<String, Summary> runs = new LinkedHashMap<>();
+        for (Path file : files) {
+            read(file, runs);
+        }
+        return runs;
+    }
+
+    private static List<Path> resultFiles(Path dir) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "run-*.jsonl")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list result files in " + dir + ": " + e.getMessage(), e);
+        }
+        return files;
+    }
+
+    private static Path latestRunDirectory(Path dir) {
+        Path latest = null;
+        long latestModified = Long.MIN_VALUE;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, Files::isDirectory)) {
+            for (Path run : stream) {
+                long modified = Files.getLastModifiedTime(run).toMillis();
+                if (modified > latestModified && !resultFiles(run).isEmpty()) {
+                    latest = run;
+                    latestModified = modified;
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list run directories in " + dir + ": " + e.getMessage(), e);
+        }
+        return latest;
+    }
+
+    private static void read(Path file, Map<String, Summary> runs) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            Summary current = null;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                JSONObject record;
+                try {
+                    record = new JSONObject(line);
+                } catch (JSONException e) {
+                    if (current != null) current.malformedLines++;
+                    continue;
+                }
+                current = runs.computeIfAbsent(record.optString("runId", ""), Summary::new);
+                if (!current.sources.contains(file)) current.sources.add(file);
+                add(record, current);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read result file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void add(JSONObject record, Summary summary) {
+        long timestamp = record.optLong("timestamp");
+        long cpu = record.optLong("cpuMillis", -1);
+        long[] times = summary.shardTimes.computeIfAbsent(record.optString("shard", "unknown"),
+                s -> new long[]{Long.MAX_VALUE, Long.MIN_VALUE, -1, -1});
+        times[0] = Math.min(times[0], timestamp);
+        times[1] = Math.max(times[1], timestamp);
+        if (cpu >= 0) {
+            times[2] = times[2] < 0 ? cpu : Math.min(times[2], cpu);
+            times[3] = Math.max(times[3], cpu);
+        }
+
+        if (!"test-end".equals(record.optString("event"))) return;
+
+        JSONArray parameters = record.optJSONArray("parameters");
+        String key = record.optString("class") + "#" + record.optString("method")
+                + (parameters == null ? "[]" : parameters.toString());
+        TestResult result = new TestResult(key, record);
+        TestResult previous = summary.tests.get(key);
+        if (previous != null) {
+            summary.reruns++;
+            if (previous.timestamp > result.timestamp) return;
+        }
+        summary.tests.put(key, result);
+    }
+
+    /**
+     * Merges a run directory (default: the latest run in {@code results.dir}) or the given result files, prints
+     * the summary and writes it as merged-summary.json next to the merged files.
+     */
+    public static void main(String[] args) throws IOException {
+        Path first = Paths.get(args.length > 0 ? args[0] : ConfigReader.getProperty("results.dir", "reports/results"));
+        Summary summary;
+        if (args.length <= 1 && Files.isDirectory(first)) {
+            summary = mergeDirectory(first);
+        } else {
+            List<Path> files = new ArrayList<>();
+            for (String arg : args) files.add(Paths.get(arg));
+            summary = merge(files);
+        }
+        if (summary.getFiles() == 0) throw new RuntimeException("No result records found in " + String.join(", ", args));
+
+        Path output = summary.sources.get(0).toAbsolutePath().getParent().resolve("merged-summary.json");
+        Files.writeString(output, summary.toJson().toString(2), StandardCharsets.UTF_8);
+        System.out.println(summary);
+        System.out.println("📄 Merged summary written to " + output.toAbsolutePath());
+    }
+}
@@ -0,0 +1,157 @@
+package listeners;
+
+import utils.ConfigReader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams test events to a JSON Lines file ({@code results.dir}/&lt;run id&gt;/run-&lt;host&gt;-&lt;pid&gt;.jsonl) as they happen.
+ * <p>
+ * Test threads only enqueue records; one writer thread owns the file, appends each record as a line and flushes
+ * whenever it has caught up, so the file is complete up to the last event even if the JVM dies and can be
+ * followed while the run is going. Memory use does not grow with the number of tests.
+ */
+public class ResultSink {
+    private static final Logger logger = LogManager.getLogger(ResultSink.class);
+
+    private static final int QUEUE_SIZE = Math.max(16, ConfigReader.getIntProperty("results.queueSize", 1024));
+    private static final String SHARD = host() + "-" + ProcessHandle.current().pid();
+    // Shared by every JVM of one run: the pom passes one to all Surefire forks, -Dresults.runId spans CI machines; else this JVM's start
+    private static final String RUN_ID = ConfigReader.getProperty("results.runId", new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+    private static final Path FILE = Paths.get(ConfigReader.getProperty("results.dir", "reports/results"), RUN_ID, "run-" + SHARD + ".jsonl");
+
+    private static final JSONObject END = new JSONObject();
+    private static final BlockingQueue<JSONObject> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private static final long OFFER_TIMEOUT_MILLIS = 1000;
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static final Thread writer = new Thread(ResultSink::drainLoop, "result-sink");
+
+    static {
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> close(5000)));
+    }
+
+    /**
+     * Queues one event. Waits at most a second while the writer is a full queue behind, then drops the event
+     * rather than stall the test.
+     *
+     * @param event  Event type (run-start, test-start, test-end, summary)
+     * @param record Event fields; {@code event}, {@code runId}, {@code timestamp}, {@code shard} and {@code thread} are added
+     */
+    public static void write(String event, JSONObject record) {
+        if (!writer.isAlive()) {
+            dropped.incrementAndGet();
+            return;
+        }
+        record.put("event", event)
+                .put("runId", RUN_ID)
+                .put("timestamp", System.currentTimeMillis())
+                .put("shard", SHARD)
+                .put("thread", Thread.currentThread().getName());
+        try {
+            if (!queue.offer(record, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                dropped.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            dropped.incrementAndGet();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Writes everything queued so far and closes the file; later events are ignored
+    public static synchronized void close(long timeoutMillis) {
+        if (!writer.isAlive()) return;
+        try {
+            queue.offer(END, timeoutMillis, TimeUnit.MILLISECONDS);
+            writer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void drainLoop() {
+        try {
+            Files.createDirectories(FILE.getParent());
+        } catch (IOException e) {
+            logger.error("❌ Cannot create results directory " + FILE.getParent() + ": " + e.getMessage());
+        }
+
+        try (BufferedWriter out = Files.newBufferedWriter(FILE, StandardCharsets.UTF_8)) {
+            logger.info("🧾 Streaming results to " + FILE.toAbsolutePath());
+            while (true) {
+                JSONObject record = queue.take();
+                if (record == END) break;
+                out.write(record.toString());
+                out.newLine();
+                written.incrementAndGet();
+                if (queue.isEmpty()) out.flush();
+            }
+        } catch (IOException e) {
+            logger.error("❌ Result stream " + FILE + " failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Nothing reads the queue any more: count what is left as dropped and let blocked producers through
+            dropped.addAndGet(queue.size());
+            queue.clear();
+        }
+    }
+
+    private static String host() {
+        try {
+            return InetAddress.getLocalHost().getHostName().replaceAll("[^A-Za-z0-9.-]", "_");
+        } catch (IOException e) {
+            return "localhost";
+        }
+    }
+
+    public static Path getFile() {
+        return FILE;
+    }
+
+    public static String getRunId() {
+        return RUN_ID;
+    }
+
+    public static String getShard() {
+        return SHARD;
+    }
+
+    public static long getWritten() {
+        return written.get();
+    }
+
+    // Events lost because the writer stopped or stayed a full queue behind
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    // CPU time of this JVM so far (all threads), for wall-clock versus CPU comparisons
+    static long processCpuMillis() {
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime() / 1_000_000;
+        }
+        return -1;
+    }
+}
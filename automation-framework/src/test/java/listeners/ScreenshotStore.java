@@ -0,0 +1,180 @@
+package listeners;
+
+import base.BaseTest;
+import utils.ConfigReader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which screenshots are taken ({@code screenshots.policy}) and stores each distinct image once.
+ * <p>
+ * Images are named by the SHA-256 of their bytes ({@code <dir>/<first two hex chars>/<hash>.png}), so the many
+ * identical captures (home page, empty cart, ...) share one file, across tests and across runs. Reports link
+ * the shared file. Writing goes through {@link ScreenshotWriter}.
+ */
+public class ScreenshotStore {
+    private static final Logger logger = LogManager.getLogger(ScreenshotStore.class);
+
+    public enum Policy {
+        NEVER, ON_FAILURE, ON_STEP, ALWAYS;
+
+        static Policy parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase().replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Warning: Unknown screenshots.policy '" + value + "', using on-failure.");
+                return ON_FAILURE;
+            }
+        }
+    }
+
+    // A test's final outcome, as far as screenshots are concerned
+    public enum Outcome {
+        PASSED, FAILED, SKIPPED
+    }
+
+    private static final Policy POLICY = Policy.parse(ConfigReader.getProperty("screenshots.policy", "on-failure"));
+    private static final Path DIR = Paths.get(ConfigReader.getProperty("screenshots.dir",
+            "E:/Folder/Galal/Courses/Digital Egypt Pioneers Initiative (DEPI) - Software Testing/DEPI Software Tester Graduation Project/automation-framework/reports/screenshots"));
+
+    private static final Map<String, Path> stored = new ConcurrentHashMap<>();
+    private static final ThreadLocal<List<Step>> steps = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final AtomicLong captures = new AtomicLong();
+    private static final AtomicLong duplicates = new AtomicLong();
+    private static final AtomicLong bytesSaved = new AtomicLong();
+
+    // A screenshot taken at a named step of a test, attached to the report when the test ends
+    public static class Step {
+        private final String label;
+        private final String path;
+
+        Step(String label, String path) {
+            this.label = label;
+            this.path = path;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+
+    public static Policy getPolicy() {
+        return POLICY;
+    }
+
+    public static boolean shouldCapture(Outcome outcome) {
+        switch (POLICY) {
+            case ALWAYS:
+                return true;
+            case ON_FAILURE:
+            case ON_STEP:
+                return outcome == Outcome.FAILED;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Screenshot of a named step of the running test, taken under the on-step and always policies only.
+     * Steps are attached to the test's report entry when it finishes.
+     */
+    public static void step(String label) {
+        if (POLICY != Policy.ON_STEP && POLICY != Policy.ALWAYS) return;
+        WebDriver driver = BaseTest.getDriver();
+        if (driver == null) return;
+
+        String path = capture(driver);
+        if (path != null) {
+            steps.get().add(new Step(label, path));
+        }
+    }
+
+    // Step screenshots of the calling thread's test since the last call
+    static List<Step> takeSteps() {
+        List<Step> taken = new ArrayList<>(steps.get());
+        steps.get().clear();
+        return taken;
+    }
+
+    /**
+     * Takes a screenshot and stores it unless an identical image is already stored.
+     *
+     * @return Path of the (possibly shared) image file, or null when the browser could not take one
+     */
+    public static String capture(WebDriver driver) {
+        byte[] png;
+        try {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (WebDriverException e) {
+            logger.warn("❌ Failed to capture screenshot: " + e.getMessage());
+            return null;
+        }
+        captures.incrementAndGet();
+
+        String hash = sha256(png);
+        Path file = DIR.resolve(hash.substring(0, 2)).resolve(hash + ".png");
+        Path existing = stored.putIfAbsent(hash, file);
+
+        // Same image earlier in this run, or left by a previous run
+        if (existing != null || Files.exists(file)) {
+            duplicates.incrementAndGet();
+            bytesSaved.addAndGet(png.length);
+            return file.toString();
+        }
+
+        ScreenshotWriter.submit(png, file, thumbnailOf(file));
+        return file.toString();
+    }
+
+    // Thumbnail written next to every stored image
+    public static Path thumbnailOf(Path file) {
+        String name = file.getFileName().toString();
+        return file.resolveSibling(name.substring(0, name.lastIndexOf('.')) + "_thumb.jpg");
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+    }
+
+    public static long getCaptures() {
+        return captures.get();
+    }
+
+    public static long getUnique() {
+        return stored.size();
+    }
+
+    public static long getDuplicates() {
+        return duplicates.get();
+    }
+
+    public static long getBytesSaved() {
+        return bytesSaved.get();
+    }
+}
@@ -0,0 +1,168 @@
+package listeners;
+
+import utils.ConfigReader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes screenshots off the test thread.
+ * <p>
+ * Tests only grab the PNG bytes from the browser; decoding, thumbnailing and disk I/O happen on a small pool
+ * behind a bounded queue. When the queue is full the submitting test thread does the write itself, which slows
+ * producers down instead of letting memory grow. {@link #drain(long)} waits for every accepted screenshot, so
+ * the report is only flushed once the files it links to exist.
+ */
+public class ScreenshotWriter {
+    private static final Logger logger = LogManager.getLogger(ScreenshotWriter.class);
+
+    private static final int THREADS = Math.max(1, ConfigReader.getIntProperty("screenshots.writerThreads", 2));
+    private static final int QUEUE_SIZE = Math.max(1, ConfigReader.getIntProperty("screenshots.queueSize", 32));
+    static final int THUMBNAIL_WIDTH = Math.max(50, ConfigReader.getIntProperty("screenshots.thumbnailWidth", 400));
+
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            THREADS, THREADS, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE),
+            runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    // One party for the drainer, plus one per screenshot in flight
+    private static final Phaser inFlight = new Phaser(1);
+
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong failed = new AtomicLong();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+    private static final AtomicLong writeMillis = new AtomicLong();
+    private static final AtomicLong inlineWrites = new AtomicLong();
+    private static final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues a screenshot for writing. Returns at once unless the queue is full.
+     *
+     * @param png       Screenshot bytes as returned by the browser
+     * @param file      Full-size image path
+     * @param thumbnail Thumbnail path (JPEG, {@code screenshots.thumbnailWidth} wide), or null for none
+     */
+    public static void submit(byte[] png, Path file, Path thumbnail) {
+        inFlight.register();
+        Thread producer = Thread.currentThread();
+        executor.execute(() -> {
+            if (Thread.currentThread() == producer) inlineWrites.incrementAndGet();
+            try {
+                write(png, file, thumbnail);
+            } finally {
+                inFlight.arriveAndDeregister();
+            }
+        });
+        maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+    }
+
+    /**
+     * Blocks until every screenshot submitted so far is on disk.
+     *
+     * @return false if the timeout passed first
+     */
+    public static boolean drain(long timeoutMillis) {
+        long start = System.currentTimeMillis();
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), timeoutMillis, TimeUnit.MILLISECONDS);
+            logger.info("📸 Screenshot queue drained in " + (System.currentTimeMillis() - start) + "ms");
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("📸 Screenshot queue not drained within " + timeoutMillis + "ms, "
+                    + (inFlight.getRegisteredParties() - 1) + " screenshot(s) still pending");
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void write(byte[] png, Path file, Path thumbnail) {
+        long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, png);
+            long bytes = png.length;
+
+            if (thumbnail != null) {
+                bytes += writeThumbnail(png, thumbnail);
+            }
+
+            written.incrementAndGet();
+            bytesWritten.addAndGet(bytes);
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            logger.error("❌ Failed to write screenshot " + file + ": " + e.getMessage());
+        } finally {
+            writeMillis.addAndGet(System.currentTimeMillis() - start);
+        }
+    }
+
+    private static long writeThumbnail(byte[] png, Path thumbnail) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) throw new IOException("Screenshot is not a readable image");
+
+        int width = Math.min(THUMBNAIL_WIDTH, source.getWidth());
+        int height = Math.max(1, source.getHeight() * width / source.getWidth());
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+
+        Files.createDirectories(thumbnail.getParent());
+        ImageIO.write(scaled, "jpg", thumbnail.toFile());
+        return Files.size(thumbnail);
+    }
+
+    public static long getWritten() {
+        return written.get();
+    }
+
+    public static long getFailed() {
+        return failed.get();
+    }
+
+    public static long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public static long getAverageWriteMillis() {
+        long count = written.get() + failed.get();
+        return count == 0 ? 0 : writeMillis.get() / count;
+    }
+
+    // Screenshots written on the test thread because the queue was full
+    public static long getInlineWrites() {
+        return inlineWrites.get();
+    }
+
+    public static int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+}
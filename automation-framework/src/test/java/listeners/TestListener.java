@@ -6,6 +6,8 @@ import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.testng.*;
+import org.json.JSONArray;
+import org.json.JSONObject;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
@@ -26,28 +28,45 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.lang.reflect.Field;
 
+import base.BypassCookieCache;
+import base.CloudflareBypass;
+import base.DriverPool;
+import utils.APIHelper;
+import utils.AccountPool;
+import utils.ConfigReader;
+import utils.Pacing;
+import utils.SessionCache;
+import utils.WaitEngine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static base.BaseTest.getDriver;
+import static base.BaseTest.getTestCaseID;
 
 
 public class TestListener implements ITestListener {
 
-    private ExtentReports extentReports;
-    private ExtentTest extentTest;
+    private ReportShards reports;
+    private final ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>(); // One report node per test thread
 
-    private int passedTests = 0;
-    private int failedTests = 0;
-    private int skippedTests = 0;
-    private StringBuilder reportBody = new StringBuilder();
+    private final AtomicInteger passedTests = new AtomicInteger();
+    private final AtomicInteger failedTests = new AtomicInteger();
+    private final AtomicInteger skippedTests = new AtomicInteger();
+    private static final int SCREENSHOT_DRAIN_SECONDS = ConfigReader.getIntProperty("screenshots.drainTimeoutSeconds", 60);
+    private static final boolean THUMBNAILS = ConfigReader.getBooleanProperty("reports.thumbnails", true);
 
     @Override
     public void onTestStart(ITestResult result) {
         String testName = result.getMethod().getMethodName();
 
-        String testCaseID = (String) result.getTestContext().getAttribute("TestCaseID");
-        if (testCaseID == null) testCaseID = "UnknownTC";
+        String testCaseID = getTestCaseID(result);
 
         result.setAttribute("startTime", System.currentTimeMillis()); // Save start time
 
@@ -56,11 +75,10 @@ public class TestListener implements ITestListener {
 
         // Log Test Case ID in TestNG Reporter
         Reporter.log("🟢 Test Started: " + testName + " (🔢 Test Case ID: " + testCaseID + ")", true);
-        reportBody.append("🟢 Test Started: ").append(testName).append("\n");
 
         // Add to Extent Reports
-        extentTest = extentReports.createTest(testCaseID + " - " + testName);
-        extentTest.info("🔢 Test Case ID: " + testCaseID);
+        extentTest.set(reports.forClass(result.getTestClass().getName()).createTest(testCaseID + " - " + testName));
+        extentTest.get().info("🔢 Test Case ID: " + testCaseID);
 
         // 🛠️ Environment Details (Logged Once Per Test)
         String os = System.getProperty("os.name") + " " + System.getProperty("os.version");
@@ -80,44 +98,34 @@ public class TestListener implements ITestListener {
 
         // Print to Console, Reporter, and ExtentReports
         Reporter.log(environmentDetails, true);
-        reportBody.append(environmentDetails);
+        ResultSink.write("test-start", testRecord(result).put("browser", browserInfo));
 
-        extentTest.info("🖥️ OS: " + os);
-        extentTest.info("☕ Java Version: " + javaVersion);
-        extentTest.info("🌐 Browser: " + browserInfo);
+        extentTest.get().info("🖥️ OS: " + os);
+        extentTest.get().info("☕ Java Version: " + javaVersion);
+        extentTest.get().info("🌐 Browser: " + browserInfo);
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        passedTests++;
+        passedTests.incrementAndGet();
         long duration = System.currentTimeMillis() - (long) result.getAttribute("startTime");
 
         Logger testLogger = LogManager.getLogger(TestListener.class);
         testLogger.info("✅ Test PASSED: " + result.getMethod().getMethodName() + " (Duration: " + duration + "ms)");
 
         Reporter.log("✅ Test PASSED: " + result.getMethod().getMethodName() + " (Duration: " + duration + "ms)");
-        reportBody.append("✅ Test PASSED: ").append(result.getMethod().getMethodName())
-                .append(" (Duration: ").append(duration).append("ms)\n");
 
-        WebDriver driver = getDriver();
-        if (driver != null) {
-            String testCaseID = (String) result.getTestContext().getAttribute("TestCaseID");
-            if (testCaseID == null) testCaseID = "UnknownTC";
-
-            String screenshotPath = captureScreenshot(driver, testCaseID);
-            if (screenshotPath != null) {
-                Reporter.log("<br><img src='" + screenshotPath + "' height='300' width='400'/><br>");
-                extentTest.pass("Test PASSED: " + result.getMethod().getMethodName() + " (Duration: " + duration + "ms)")
-                        .addScreenCaptureFromPath(screenshotPath);
-            }
-        } else {
-            extentTest.pass("Test PASSED: " + result.getMethod().getMethodName() + " (Duration: " + duration + "ms)");
-        }
+        ExtentTest node = currentTest(result).pass("Test PASSED: " + result.getMethod().getMethodName() + " (Duration: " + duration + "ms)");
+        List<String> artifacts = attachScreenshot(node, ScreenshotStore.Outcome.PASSED);
+        logSetupPhases(result);
+        ResultSink.write("test-end", endRecord(result, "passed", artifacts));
+        extentTest.remove();
+        reports.testFinished(result.getTestClass().getName(), ScreenshotStore.Outcome.PASSED);
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        failedTests++;
+        failedTests.incrementAndGet();
         Logger testLogger = LogManager.getLogger(TestListener.class);
         String testName = result.getMethod().getMethodName();
         Throwable throwable = result.getThrowable();
@@ -125,73 +133,37 @@ public class TestListener implements ITestListener {
 
         // Log failure in TestNG Reporter
         Reporter.log("❌ Test FAILED: " + testName + " - " + throwable.getMessage());
-        reportBody.append("❌ Test FAILED: ").append(testName)
-                .append(" \n- ").append(throwable.getMessage()).append("\n");
 
         // Capture Screenshot and Attach to Report
-        WebDriver driver = getDriver();
-        if (driver != null) {
-            String testCaseID = (String) result.getTestContext().getAttribute("TestCaseID");
-            if (testCaseID == null) testCaseID = "UnknownTC"; // Handle missing ID
-
-            String screenshotPath = captureScreenshot(driver, testCaseID);
-            if (screenshotPath != null) {
-                Reporter.log("<br><img src='" + screenshotPath + "' height='300' width='400'/><br>");
-                extentTest.fail("Test FAILED: " + testName + " \n- " + throwable.getMessage()).addScreenCaptureFromPath(screenshotPath);
-            }
-        } else {
-            extentTest.fail("Test FAILED: " + testName + " \n- " + throwable.getMessage());
-        }
+        ExtentTest node = currentTest(result).fail("Test FAILED: " + testName + " \n- " + throwable.getMessage());
+        List<String> artifacts = attachScreenshot(node, ScreenshotStore.Outcome.FAILED);
+        logSetupPhases(result);
+        ResultSink.write("test-end", endRecord(result, "failed", artifacts)
+                .put("error", throwable.getClass().getName() + ": " + throwable.getMessage()));
+        extentTest.remove();
+        reports.testFinished(result.getTestClass().getName(), ScreenshotStore.Outcome.FAILED);
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        skippedTests++;
+        skippedTests.incrementAndGet();
         Logger testLogger = LogManager.getLogger(TestListener.class);
         testLogger.warn("⚠️ Test SKIPPED: " + result.getMethod().getMethodName());
 
         Reporter.log("⚠️ Test SKIPPED: " + result.getMethod().getMethodName());
-        reportBody.append("⚠️ Test SKIPPED: ").append(result.getMethod().getMethodName()).append("\n");
 
-        WebDriver driver = getDriver();
-        if (driver != null) {
-            String testCaseID = (String) result.getTestContext().getAttribute("TestCaseID");
-            if (testCaseID == null) testCaseID = "UnknownTC";
-
-            String screenshotPath = captureScreenshot(driver, testCaseID);
-            if (screenshotPath != null) {
-                Reporter.log("<br><img src='" + screenshotPath + "' height='300' width='400'/><br>");
-                extentTest.skip("Test SKIPPED: " + result.getMethod().getMethodName())
-                        .addScreenCaptureFromPath(screenshotPath);
-            }
-        } else {
-            extentTest.skip("Test SKIPPED: " + result.getMethod().getMethodName());
-        }
+        ExtentTest node = currentTest(result).skip("Test SKIPPED: " + result.getMethod().getMethodName());
+        List<String> artifacts = attachScreenshot(node, ScreenshotStore.Outcome.SKIPPED);
+        logSetupPhases(result);
+        ResultSink.write("test-end", endRecord(result, "skipped", artifacts));
+        extentTest.remove();
+        reports.testFinished(result.getTestClass().getName(), ScreenshotStore.Outcome.SKIPPED);
     }
 
     @Override
     public void onStart(ITestContext context) {
         System.out.println("Test Suite Started: " + context.getName());
 
-        // Define the directory for extent reports
-        String reportDir = "E:/Folder/Galal/Courses/Digital Egypt Pioneers Initiative (DEPI) - Software Testing/DEPI Software Tester Graduation Project/automation-framework/reports/extent-reports";
-        String reportFilePath = reportDir + "/extent-report.html";
-
-        // Ensure the report directory exists
-        try {
-            Files.createDirectories(Paths.get(reportDir));
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.out.println("❌ Failed to create Extent Reports directory: " + reportDir);
-        }
-
-        // Initialize Extent Reports
-        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFilePath);
-        sparkReporter.config().setReportName("(demo.nopcommerce.com) Test Automation Report");
-
-        extentReports = new ExtentReports();
-        extentReports.attachReporter(sparkReporter);
-
         Logger logger = LogManager.getLogger(TestListener.class);
         logger.info("🚀 Starting Test Suite: " + context.getName());
         Reporter.log("🚀 Starting Test Suite: " + context.getName());
@@ -208,12 +180,20 @@ public class TestListener implements ITestListener {
 
         // Log to TestNG Reporter
         Reporter.log(environmentDetails, true);
-        reportBody.append(environmentDetails);
-
-        // Add to ExtentReports
-        extentReports.setSystemInfo("Operating System", os);
-        extentReports.setSystemInfo("Java Version", javaVersion);
-        extentReports.setSystemInfo("Browser", browserInfo);
+        ResultSink.write("run-start", new JSONObject()
+                .put("suite", context.getSuite().getName())
+                .put("context", context.getName())
+                .put("os", os)
+                .put("java", javaVersion)
+                .put("browser", browserInfo)
+                .put("cpuMillis", ResultSink.processCpuMillis()));
+
+        // Initialize Extent Reports (reports.dir, one file or one per test class)
+        Map<String, String> systemInfo = new LinkedHashMap<>();
+        systemInfo.put("Operating System", os);
+        systemInfo.put("Java Version", javaVersion);
+        systemInfo.put("Browser", browserInfo);
+        reports = new ReportShards(systemInfo);
     }
 
     @Override
@@ -225,63 +205,196 @@ public class TestListener implements ITestListener {
 
         // 📝 Add Summary to TestNG Reporter Output
         String summary = "\n🏁 Test Suite Summary:\n" +
-                "✅ Passed: " + passedTests + "\n" +
-                "❌ Failed: " + failedTests + "\n" +
-                "⚠️ Skipped: " + skippedTests + "\n";
+                "✅ Passed: " + passedTests.get() + "\n" +
+                "❌ Failed: " + failedTests.get() + "\n" +
+                "⚠️ Skipped: " + skippedTests.get() + "\n";
+
+        // ♻️ Browser session reuse
+        String poolSummary = "\n♻️ Driver Pool:\n" +
+                "🎯 Hits: " + DriverPool.getHits() + "\n" +
+                "🚀 Misses (new browsers): " + DriverPool.getMisses() + "\n" +
+                "🔁 Recycled sessions: " + DriverPool.getRecycled() + "\n" +
+                "🧹 Average reset time: " + DriverPool.getAverageResetMillis() + "ms\n";
+
+        // 🍪 Cloudflare bypass cookie reuse
+        String bypassSummary = "\n🍪 Bypass Cookie Cache:\n" +
+                "🎯 Hits: " + BypassCookieCache.getHits() + "\n" +
+                "🔍 Misses: " + BypassCookieCache.getMisses() + "\n" +
+                "🔄 Refreshes (Puppeteer runs): " + BypassCookieCache.getRefreshes() + "\n" +
+                "⏱️ Average bypass time: " + CloudflareBypass.getAverageBypassMillis() + "ms\n" +
+                "🛡️ Challenges seen: " + CloudflareBypass.getChallengesSeen() + "/" + CloudflareBypass.getBypassRuns()
+                + " (unsolved: " + CloudflareBypass.getChallengesUnsolved()
+                + ", average: " + CloudflareBypass.getAverageChallengeMillis() + "ms)\n";
+
+        // 🐢 Time spent in pacing sleeps
+        String pacingSummary = "\n🐢 Pacing (" + Pacing.getPolicy().name().toLowerCase() + "):\n" +
+                "😴 Total sleep: " + Pacing.getTotalSleepMillis() + "ms in " + Pacing.getTotalPauses() + " pause(s)\n" +
+                "🚦 Throttle signals: " + Pacing.getThrottleSignals() + "\n";
+
+        // 🔌 Preconditions built over HTTP instead of the UI
+        String apiSummary = "\n🔌 HTTP Setup:\n" +
+                "📨 Requests: " + APIHelper.getRequestCount() + " in " + APIHelper.getRequestMillis() + "ms\n";
+
+        // 🔑 Logins saved by replaying cached sessions
+        String sessionSummary = "\n🔑 Session Cache:\n" +
+                "🎯 Replayed sessions: " + SessionCache.getHits() + "\n" +
+                "🔐 Real logins: " + SessionCache.getLogins() + "\n" +
+                "⌛ Expired sessions: " + SessionCache.getExpired() + "\n";
+
+        // 👥 Pooled test accounts
+        String accountSummary = "\n👥 Account Pool:\n" +
+                "📋 Leases: " + AccountPool.getLeases() + "\n" +
+                "🆕 Provisioned over HTTP: " + AccountPool.getProvisioned() + " (average " + AccountPool.getAverageProvisionMillis() + "ms)\n" +
+                "🪦 Retired: " + AccountPool.getRetired() + "\n";
+
+        // ⏳ Explicit waits that cost the most time (tune these timeouts/locators first)
+        StringBuilder waitSummary = new StringBuilder("\n⏳ Waits:\n")
+                .append("⌛ Total waited: ").append(WaitEngine.getTotalWaitMillis()).append("ms, timeouts: ")
+                .append(WaitEngine.getTotalTimeouts()).append("\n");
+        for (Map.Entry<String, WaitEngine.Stats> entry : WaitEngine.getSlowestWaits(10)) {
+            waitSummary.append("🐌 ").append(entry.getKey()).append(" -> ").append(entry.getValue()).append("\n");
+        }
 
         Reporter.log(summary, true);
-        reportBody.append(summary);
+        Reporter.log(poolSummary, true);
+        Reporter.log(bypassSummary, true);
+        Reporter.log(pacingSummary, true);
+        Reporter.log(apiSummary, true);
+        Reporter.log(sessionSummary, true);
+        Reporter.log(accountSummary, true);
+        Reporter.log(waitSummary.toString(), true);
+
+        // 🧾 Totals for this context; the per-test records are already in the result stream
+        ResultSink.write("summary", new JSONObject()
+                .put("suite", context.getSuite().getName())
+                .put("context", context.getName())
+                .put("passed", passedTests.get())
+                .put("failed", failedTests.get())
+                .put("skipped", skippedTests.get())
+                .put("wallMillis", System.currentTimeMillis() - context.getStartDate().getTime())
+                .put("cpuMillis", ResultSink.processCpuMillis()));
 
         // Add to ExtentReports
-        ExtentTest summaryTest = extentReports.createTest("🏁 Test Suite Summary");
-        summaryTest.info("✅ Passed: " + passedTests);
-        summaryTest.info("❌ Failed: " + failedTests);
-        summaryTest.info("⚠️ Skipped: " + skippedTests);
+        ExtentTest summaryTest = reports.main().createTest("🏁 Test Suite Summary");
+        summaryTest.info("✅ Passed: " + passedTests.get());
+        summaryTest.info("❌ Failed: " + failedTests.get());
+        summaryTest.info("⚠️ Skipped: " + skippedTests.get());
+        summaryTest.info("♻️ Driver pool hits: " + DriverPool.getHits() + ", misses: " + DriverPool.getMisses()
+                + ", recycled: " + DriverPool.getRecycled()
+                + ", average reset: " + DriverPool.getAverageResetMillis() + "ms");
+        summaryTest.info("🍪 Bypass cookie cache hits: " + BypassCookieCache.getHits() + ", misses: " + BypassCookieCache.getMisses()
+                + ", refreshes: " + BypassCookieCache.getRefreshes());
+        summaryTest.info("🛡️ Bypass average: " + CloudflareBypass.getAverageBypassMillis() + "ms, challenges seen: "
+                + CloudflareBypass.getChallengesSeen() + "/" + CloudflareBypass.getBypassRuns()
+                + ", unsolved: " + CloudflareBypass.getChallengesUnsolved()
+                + ", average challenge: " + CloudflareBypass.getAverageChallengeMillis() + "ms");
+        summaryTest.info("🐢 Pacing (" + Pacing.getPolicy().name().toLowerCase() + "): " + Pacing.getTotalSleepMillis()
+                + "ms slept in " + Pacing.getTotalPauses() + " pause(s), throttle signals: " + Pacing.getThrottleSignals());
+        summaryTest.info("🔌 HTTP setup requests: " + APIHelper.getRequestCount() + " in " + APIHelper.getRequestMillis() + "ms");
+        summaryTest.info("🔑 Session cache replays: " + SessionCache.getHits() + ", real logins: " + SessionCache.getLogins()
+                + ", expired: " + SessionCache.getExpired());
+        summaryTest.info("👥 Account pool leases: " + AccountPool.getLeases() + ", provisioned: " + AccountPool.getProvisioned()
+                + " (average " + AccountPool.getAverageProvisionMillis() + "ms), retired: " + AccountPool.getRetired());
+        summaryTest.info("⏳ Waited " + WaitEngine.getTotalWaitMillis() + "ms in explicit waits, timeouts: " + WaitEngine.getTotalTimeouts());
+        for (Map.Entry<String, WaitEngine.Stats> entry : WaitEngine.getSlowestWaits(10)) {
+            summaryTest.info("🐌 " + entry.getKey() + " -> " + entry.getValue());
+        }
+
+        // 📸 Screenshots still being written must be on disk before the report that links them
+        ScreenshotWriter.drain(SCREENSHOT_DRAIN_SECONDS * 1000L);
+        summaryTest.info("📸 Screenshots (" + ScreenshotStore.getPolicy().name().toLowerCase().replace('_', '-') + "): "
+                + ScreenshotStore.getCaptures() + " taken, " + ScreenshotStore.getUnique() + " unique, "
+                + ScreenshotStore.getDuplicates() + " deduplicated (" + ScreenshotStore.getBytesSaved() / 1024 + " KB not written)");
+        summaryTest.info("📸 Screenshots written: " + ScreenshotWriter.getWritten() + " (" + ScreenshotWriter.getBytesWritten() / 1024
+                + " KB, average " + ScreenshotWriter.getAverageWriteMillis() + "ms off the test thread), failed: " + ScreenshotWriter.getFailed()
+                + ", written inline under backpressure: " + ScreenshotWriter.getInlineWrites()
+                + ", max queue depth: " + ScreenshotWriter.getMaxQueueDepth());
+        summaryTest.info("🧾 Result stream: " + ResultSink.getWritten() + " record(s) in " + ResultSink.getFile().toAbsolutePath()
+                + ", dropped: " + ResultSink.getDropped());
+
+        summaryTest.info("📊 Reports: " + reports.getShardCount() + " file(s)" + (ReportShards.isSharded() ? " (index.html)" : "")
+                + ", flushed " + ReportShards.getFlushes() + " time(s) during the run, average " + ReportShards.getAverageFlushMillis() + "ms");
 
         // Flush ExtentReports at the end
-        extentReports.flush();
+        reports.flush();
     }
 
-    private String captureScreenshot(WebDriver driver, String testCaseID) {
-        try {
-            // 🏁 Define the base screenshot directory
-            String baseDir = "E:/Folder/Galal/Courses/Digital Egypt Pioneers Initiative (DEPI) - Software Testing/DEPI Software Tester Graduation Project/automation-framework/reports/screenshots";
+    // ⏱️ Make the setup critical path visible per test (recorded by BaseTest.setUp)
+    @SuppressWarnings("unchecked")
+    private void logSetupPhases(ITestResult result) {
+        Object phases = result.getAttribute("setupPhases");
+        if (phases instanceof Map && !((Map<String, Long>) phases).isEmpty()) {
+            String timings = "⏱️ Setup phases (ms): " + phases;
+            Reporter.log(timings);
+            currentTest(result).info(timings);
+        }
 
-            // 🗂️ Ensure the base directory exists
-            File baseDirectory = new File(baseDir);
-            if (!baseDirectory.exists()) {
-                boolean baseCreated = baseDirectory.mkdirs();
-                System.out.println("📂 Base directory created: " + baseDirectory.getAbsolutePath() + " -> " + baseCreated);
-            }
+        // 🐢 Pacing sleeps of this test (the thread still holds them until the next setUp)
+        String pacing = "🐢 Pacing: " + Pacing.getTestSleepMillis() + "ms slept in " + Pacing.getTestPauses() + " pause(s)";
+        Reporter.log(pacing);
+        currentTest(result).info(pacing);
+    }
 
-            // 📂 Create a test-specific folder inside the base directory
-            String testFolderPath = baseDir + File.separator + testCaseID;
-            File testFolder = new File(testFolderPath);
-            if (!testFolder.exists()) {
-                boolean created = testFolder.mkdirs();
-                if (!created) {
-                    System.out.println("❌ Failed to create test folder: " + testFolder.getAbsolutePath());
-                    return null;
-                }
-                System.out.println("📂 Test folder created: " + testFolder.getAbsolutePath());
-            }
+    // Tests skipped by a failed configuration method never reach onTestStart on this thread
+    private ExtentTest currentTest(ITestResult result) {
+        if (extentTest.get() == null) {
+            extentTest.set(reports.forClass(result.getTestClass().getName())
+                    .createTest(getTestCaseID(result) + " - " + result.getMethod().getMethodName()));
+        }
+        return extentTest.get();
+    }
 
-            // 📸 Define the screenshot file path
-            String screenshotPath = testFolderPath + File.separator + testCaseID + "_screenshot.png";
-            File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            File destinationFile = new File(screenshotPath);
+    // 🧾 Fields shared by a test's start and end records
+    private JSONObject testRecord(ITestResult result) {
+        JSONArray parameters = new JSONArray();
+        for (Object parameter : result.getParameters()) {
+            parameters.put(String.valueOf(parameter));
+        }
+        return new JSONObject()
+                .put("testCaseId", getTestCaseID(result))
+                .put("class", result.getTestClass().getName())
+                .put("method", result.getMethod().getMethodName())
+                .put("parameters", parameters);
+    }
 
-            // 📝 Save the screenshot
-            Files.copy(screenshot.toPath(), destinationFile.toPath());
+    @SuppressWarnings("unchecked")
+    private JSONObject endRecord(ITestResult result, String status, List<String> artifacts) {
+        Object startTime = result.getAttribute("startTime");
+        long start = startTime instanceof Long ? (Long) startTime : result.getStartMillis();
+        Object phases = result.getAttribute("setupPhases");
+
+        return testRecord(result)
+                .put("status", status)
+                .put("durationMillis", System.currentTimeMillis() - start)
+                .put("setupPhases", phases instanceof Map ? new JSONObject((Map<String, Long>) phases) : new JSONObject())
+                .put("pacingMillis", Pacing.getTestSleepMillis())
+                .put("artifacts", new JSONArray(artifacts));
+    }
 
-            System.out.println("📸 Screenshot saved at: " + destinationFile.getAbsolutePath());
+    // 📸 Step screenshots of the test, then the final one if screenshots.policy asks for it (files shared by content)
+    private List<String> attachScreenshot(ExtentTest node, ScreenshotStore.Outcome outcome) {
+        List<String> artifacts = new ArrayList<>();
+        for (ScreenshotStore.Step step : ScreenshotStore.takeSteps()) {
+            if (THUMBNAILS) node.info("📸 " + step.getLabel() + "<br>" + ReportShards.thumbnailHtml(step.getPath()));
+            else node.info("📸 " + step.getLabel()).addScreenCaptureFromPath(step.getPath());
+            artifacts.add(step.getPath());
+        }
 
-            return screenshotPath;
-        } catch (IOException e) {
-            System.out.println("❌ Failed to save screenshot for " + testCaseID);
-            e.printStackTrace();
-            return null;
+        WebDriver driver = getDriver();
+        if (driver == null || !ScreenshotStore.shouldCapture(outcome)) return artifacts;
+
+        String screenshotPath = ScreenshotStore.capture(driver);
+        if (screenshotPath != null) {
+            if (THUMBNAILS) {
+                Reporter.log("<br>" + ReportShards.thumbnailHtml(screenshotPath) + "<br>");
+                node.info(ReportShards.thumbnailHtml(screenshotPath));
+            } else {
+                Reporter.log("<br><img src='" + screenshotPath + "' height='300' width='400'/><br>");
+                node.addScreenCaptureFromPath(screenshotPath);
+            }
+            artifacts.add(screenshotPath);
         }
+        return artifacts;
     }
 
 //    private void sendTestReport() {
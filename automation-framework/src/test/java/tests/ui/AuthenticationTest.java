@@ -30,7 +30,7 @@ public class AuthenticationTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-023")
     public void verifyUserRegistrationWithValidDetails() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -52,7 +52,7 @@ public class AuthenticationTest extends BaseTest {
 
     @Test(groups = {"smoke", "functional"}, description = "TC-024")
     public void verifyErrorMessageForRegistrationWithMissingFields() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         MainFunctionalities main = new MainFunctionalities(driver);
         SeleniumHelper helper = new SeleniumHelper(driver);
 
@@ -86,7 +86,7 @@ public class AuthenticationTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-025")
     public void verifyUserLoginWithValidCredentials() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         // Step 1: Login with valid credentials
@@ -97,7 +97,7 @@ public class AuthenticationTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-026")
     public void verifyUserLoginWithInvalidCredentials() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         MainFunctionalities main = new MainFunctionalities(driver);
         SeleniumHelper helper = new SeleniumHelper(driver);
 
@@ -125,7 +125,7 @@ public class AuthenticationTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-028")
     public void verifyUserLogout() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         MainFunctionalities main = new MainFunctionalities(driver);
         SeleniumHelper helper = new SeleniumHelper(driver);
 
@@ -140,7 +140,7 @@ public class AuthenticationTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-036")
     public void verifyErrorMessageForExistingEmail() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         MainFunctionalities main = new MainFunctionalities(driver);
         SeleniumHelper helper = new SeleniumHelper(driver);
 
@@ -55,12 +55,12 @@ public class CartTest extends BaseTest {
 
     @Test(groups = {"smoke"}, description = "TC-015")
     public void verifyCartPersistence() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         // Step 1: Add a product to the cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Wait for cart quantity to update
         main.checkCartQuantity();
@@ -77,7 +77,7 @@ public class CartTest extends BaseTest {
 
     @Test(groups = {"smoke"}, description = "TC-018")
     public void verifyAddMultipleProductsToCart() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -90,9 +90,7 @@ public class CartTest extends BaseTest {
         System.out.println(lenovoName);
 
         // Step 1: Add multiple products to the cart
-        for (int i = 0; i < productUrls.length; i++) {
-            main.addProductToCart(productUrls[i], productIds[i]);
-        }
+        main.prepareCart(productUrls, productIds);
 
         // Step 2: Check cart quantity
         main.checkCartQuantity();
@@ -112,7 +110,7 @@ public class CartTest extends BaseTest {
 
     @Test(groups = {"smoke"}, description = "TC-019")
     public void verifyRemoveMultipleProducts() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -123,9 +121,7 @@ public class CartTest extends BaseTest {
         String[] productNames = {lenovoName, macbookName, flowerGirlName, prideName};
 
         // Step 1: Add multiple products to the cart
-        for (int i = 0; i < productUrls.length; i++) {
-            main.addProductToCart(productUrls[i], productIds[i]);
-        }
+        main.prepareCart(productUrls, productIds);
 
         // Step 2: Check cart quantity
         main.checkCartQuantity();
@@ -150,14 +146,14 @@ public class CartTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-068")
     public void verifyUpdateProductQuantity() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         int expectedQuantity = 2;
 
         // Step 1: Add a product to the cart
-        main.addProductToCart(lenovoUrl, lenovoID);
+        main.prepareCart(lenovoUrl, lenovoID);
 
         // Step 2: Navigate to cart and update quantity
         driver.get("https://demo.nopcommerce.com/cart");
@@ -207,7 +203,7 @@ public class CartTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-070")
     public void verifyCartSummaryDisplaysCorrectPricing() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
         JavascriptExecutor js = (JavascriptExecutor) driver;
@@ -217,9 +213,7 @@ public class CartTest extends BaseTest {
         String[] productIds = {lenovoID, photoshopID};
         String[] productNames = {lenovoName, photoshopName};
 
-        for (int i = 0; i < productUrls.length; i++) {
-            main.addProductToCart(productUrls[i], productIds[i]);
-        }
+        main.prepareCart(productUrls, productIds);
 
         // Step 2: Navigate to cart page
         driver.get("https://demo.nopcommerce.com/cart");
@@ -234,7 +228,7 @@ public class CartTest extends BaseTest {
 
     @Test(groups = {"ui"}, description = "TC-077")
     public void verifyEmptyCartMessage() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
         JavascriptExecutor js = (JavascriptExecutor) driver;
@@ -244,7 +238,7 @@ public class CartTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-079")
     public void verifyAddToWishlist() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
         JavascriptExecutor js = (JavascriptExecutor) driver;
@@ -258,7 +252,7 @@ public class CartTest extends BaseTest {
 
     @Test(groups = {"ui"}, description = "TC-182")
     public void verifyCartIconUpdatesCount() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -279,14 +273,14 @@ public class CartTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-076")
     public void testInvalidPromoCode() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         String promoCode = "INVALIDCODE123";
 
         // Step 1: Add product to cart
-        main.addProductToCart(lenovoUrl, lenovoID);
+        main.prepareCart(lenovoUrl, lenovoID);
 
         // Step 2: Apply promo code
         main.enterPromoCode(promoCode);
@@ -8,8 +8,10 @@ import org.openqa.selenium.support.ui.Select;
 import base.BaseTest;
 import org.testng.SkipException;
 import org.testng.reporters.jq.Main;
+import utils.AccountPool;
 import utils.MainFunctionalities;
 import utils.SeleniumHelper;
+import utils.TestData;
 import utils.ConfigReader;
 
 import org.testng.Assert;
@@ -38,47 +40,32 @@ public class CheckoutTest extends BaseTest {
     private final String photoshopName = helper.getProductName("adobePhotoshopName");
     private final String iphoneName = ConfigReader.getProperty("appleIphoneName");
 
-    String[] details = {
-            "Maegan",
-            "Rolfson",
-            "48dd6282b6@emaily.pro",
-            "United States of America",
-            "Alaska",
-            "Anchorage",
-            "PO Box 242941",
-            "99524",
-            "9072430988",
-            "Maegan Rolfson",
-            "3595972973139459",
-            "10",
-            "2029",
-            "469"
-    };
+    String[] details = TestData.details(TestData.customer("maegan"), TestData.card("maegan-jcb"));
 
     @Test(groups = {"smoke"}, description = "TC-004")
     public void verifyCheckoutPageLoads() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         // Step 1: Add product to cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Process checkout
         main.goToCheckout();
     }
 
-    @Test(groups = {"smoke"}, description = "TC-005_TC-006_TC-072")
-    public void verifyCheckoutProcessAsGuest() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+    @Test(groups = {"smoke"}, description = "TC-005_TC-006_TC-072", dataProvider = "customerCards", dataProviderClass = TestData.class)
+    public void verifyCheckoutProcessAsGuest(TestData.Customer customer, TestData.Card card) throws InterruptedException {
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         // Step 1: Add product to cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Process checkout as guest
-        main.checkoutAsGuest(details);
+        main.checkoutAsGuest(TestData.details(customer, card));
 
         // Step 3: Confirm order
         helper.realisticDelay();
@@ -94,23 +81,18 @@ public class CheckoutTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-073")
     public void testCheckoutProcessAsUser() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        String firstName = "Test";
-        String lastName = "User";
-        String emailAddress = "TestUserTest@TestUser.Test";
-        String validPassword = "123456";
-
-        // Step 1: Register new user
-        main.register(firstName, lastName, emailAddress, validPassword);
+        // Step 1: Lease a registered account
+        AccountPool.Account account = main.leaseAccount();
 
         // Step 2: Login with valid credentials
-        main.login(emailAddress, validPassword);
+        main.loginWithSession(account.getEmail(), account.getPassword());
 
         // Step 3: Add product to cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 4: Proceed checkout process
         main.checkoutAsUserWithoutContinue(details);
@@ -118,7 +100,7 @@ public class CheckoutTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-080")
     public void verifyInvalidAddressPreventsCheckout() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -133,7 +115,7 @@ public class CheckoutTest extends BaseTest {
         };
 
         // Step 1: Add product to cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Proceed checkout process
         main.checkoutAddressOnly(invalidDetails);
@@ -142,12 +124,12 @@ public class CheckoutTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-081")
     public void verifyOrderIsGenerated() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         // Step 1: Add product to cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Proceed checkout process
         main.checkoutAsGuest(details);
@@ -174,7 +156,7 @@ public class CheckoutTest extends BaseTest {
 
     @Test(groups = {"ui"}, description = "TC-187")
     public void verifyOrderSummaryDisplaysCorrectInfo() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -188,7 +170,7 @@ public class CheckoutTest extends BaseTest {
         };
 
         // Step 1: Add product to cart
-        main.addProductToCart(iphoneUrl, iphoneID);
+        main.prepareCart(iphoneUrl, iphoneID);
 
         // Step 2: Proceed checkout process
         main.checkoutAsGuest(details);
@@ -199,12 +181,12 @@ public class CheckoutTest extends BaseTest {
 
     @Test(groups = {"ui"}, description = "TC-189")
     public void verifyDifferentPaymentOptionsAreAvailable() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         // Step 1: Add product to cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Check payment options
         main.checkPaymentMethods(details);
@@ -54,7 +54,7 @@ public class HomePageTest extends BaseTest {
     @Test(groups = {"ui"}, description = "TC-342")
     public void verifyHeaderLinks() throws InterruptedException {
         int timeout = ConfigReader.getIntProperty("explicitWait");
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, timeout);
         SeleniumHelper helper = new SeleniumHelper(driver);
 
         logger.info("Navigating to: " + url);
@@ -96,7 +96,7 @@ public class HomePageTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-046")
     public void verifyCategoryNavigation() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -112,7 +112,7 @@ public class HomePageTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-261")
     public void verifyBreadcrumbNavigation() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -130,7 +130,7 @@ public class HomePageTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-262")
     public void validateHomepageRedirection() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
 
         // Step 1: Navigate to any page other than homepage
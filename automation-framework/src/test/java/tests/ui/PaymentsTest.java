@@ -8,8 +8,10 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.Select;
 
 import base.BaseTest;
+import utils.AccountPool;
 import utils.MainFunctionalities;
 import utils.SeleniumHelper;
+import utils.TestData;
 import utils.ConfigReader;
 
 import org.testng.Assert;
@@ -29,31 +31,16 @@ public class PaymentsTest extends BaseTest {
     private final String photoshopID = helper.getProductID("adobePhotoshopID");
     private final String photoshopName = helper.getProductName("adobePhotoshopName");
 
-    String[] details = {
-            "Maegan",
-            "Rolfson",
-            "48dd6282b6@emaily.pro",
-            "United States of America",
-            "Alaska",
-            "Anchorage",
-            "PO Box 242941",
-            "99524",
-            "9072430988",
-            "Maegan Rolfson",
-            "3595972973139459",
-            "10",
-            "2029",
-            "469"
-    };
+    String[] details = TestData.details(TestData.customer("maegan"), TestData.card("maegan-jcb"));
 
     @Test(groups = {"smoke"}, description = "TC-012")
     public void verifyExpiredPaymentMethod() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         // Step 1: Add product to cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Enter Address Details
         main.checkoutAddressOnly(details);
@@ -78,23 +65,18 @@ public class PaymentsTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-082")
     public void verifyPaymentViaCreditCard() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        String firstName = "Test";
-        String lastName = "User";
-        String emailAddress = "TestUserTest16@TestUser.Test";
-        String validPassword = "123456";
-
-        // Step 1: Register an account
-        main.register(firstName, lastName, emailAddress, validPassword);
+        // Step 1: Lease a registered account
+        AccountPool.Account account = main.leaseAccount();
 
         //Step 2: Login with valid credentials
-        main.login(emailAddress, validPassword);
+        main.loginWithSession(account.getEmail(), account.getPassword());
 
         // Step 3: Add product to the card
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 4: Checkout
         main.checkoutAsUserWithoutContinue(details);
@@ -102,15 +84,15 @@ public class PaymentsTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-083_TC-084")
     public void verifyAvailablePaymentMethods() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         // Step 1: Add product to the cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Proceed to checkout and check payment methods
-        String[] userDetails = {"John", "Doe", "johndoe@example.com", "United States of America", "California", "Los Angeles", "123 Main St", "90001", "555-1234"};
+        String[] userDetails = TestData.details(TestData.customer("john-doe"));
         main.checkPaymentMethods(userDetails);
 
         // Ensure the payment section is fully loaded
@@ -151,12 +133,12 @@ public class PaymentsTest extends BaseTest {
 
     @Test(groups = {"security"}, description = "TC-088")
     public void verifyDuplicatePaymentPrevention() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         // Step 1: Add product to cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Proceed to checkout
         main.checkoutAddressOnly(details);
@@ -195,12 +177,12 @@ public class PaymentsTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-095")
     public void verifyPaymentFailsWithInsufficientFunds() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
         // Step 1: Add product to the cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Proceed to checkout
         main.checkoutAsGuest(details);
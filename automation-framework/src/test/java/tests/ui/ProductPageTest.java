@@ -12,6 +12,7 @@ import base.BaseTest;
 import org.testng.SkipException;
 import org.testng.reporters.jq.Main;
 import utils.MainFunctionalities;
+import utils.Navigation;
 import utils.SeleniumHelper;
 import utils.ConfigReader;
 
@@ -32,18 +33,24 @@ public class ProductPageTest extends BaseTest {
     private final String wishlistUrl = ConfigReader.getProperty("wishlistURL");
     private final String macbookUrl = ConfigReader.getProperty("appleMacbookProUrl");
     private final String computerUrl = ConfigReader.getProperty("buildYourComputerUrl");
+    private final String iphoneUrl = ConfigReader.getProperty("appleIphoneUrl");
+    private final String htcUrl = ConfigReader.getProperty("htcOneMiniUrl");
 
     // Product IDs
     private final String macbookID = helper.getProductID("appleMacbookProID");
     private final String computerID = helper.getProductID("buildYourComputerID");
+    private final String iphoneID = helper.getProductID("appleIphoneID");
+    private final String htcID = helper.getProductID("htcOneMiniID");
 
     // Product Names
     private final String macbookName = helper.getProductName("appleMacbookProName");
     private final String computerName = helper.getProductName("buildYourComputerName");
+    private final String iphoneName = helper.getProductName("appleIphoneName");
+    private final String htcName = helper.getProductName("htcOneMiniName");
 
     @Test(groups = {"smoke"}, description = "TC-020")
     public void verifyProductVariationSelection() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         JavascriptExecutor js = (JavascriptExecutor) driver;
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
@@ -105,7 +112,7 @@ public class ProductPageTest extends BaseTest {
 
     @Test(groups = {"smoke"}, description = "TC-003")
     public void verifyProductPageLoadsCorrectly() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 5);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -120,17 +127,12 @@ public class ProductPageTest extends BaseTest {
 
     @Test(groups = {"ui"}, description = "TC-063")
     public void verifyRelatedProductsAreDisplayed() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));  // Increased timeout to 20 seconds
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);  // Increased timeout to 20 seconds
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        logger.info("Navigating to: " + url);
-        driver.get(url);
-
-        // Use the helper function to perform the search
-        main.searchProduct(macbookName);
-
-        logger.info("Product page loaded successfully.");
+        // Open the search results for the product directly
+        Navigation.search(macbookName).open(driver);
 
         // Click on the first product link
         helper.realisticDelay();
@@ -152,7 +154,7 @@ public class ProductPageTest extends BaseTest {
 
     @Test(groups = {"ui"}, description = "TC-179")
     public void verifyProductImageGallery() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         JavascriptExecutor js = (JavascriptExecutor) driver;
         MainFunctionalities main = new MainFunctionalities(driver);
@@ -169,7 +171,7 @@ public class ProductPageTest extends BaseTest {
 
     @Test(groups = {"ui"}, description = "TC-180")
     public void verifyProductReviewsAreDisplayed() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -185,7 +187,7 @@ public class ProductPageTest extends BaseTest {
 
     @Test(groups = {"ui"}, description = "TC-199")
     public void verifyCompareListFunctionality() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -193,17 +195,16 @@ public class ProductPageTest extends BaseTest {
         driver.get(url);
 
         // Add products to the compare list
-        main.addProductToCompareList("https://demo.nopcommerce.com/apple-iphone-16-128gb");
-        main.addProductToCompareList("https://demo.nopcommerce.com/htc-one-mini-blue");
+        main.prepareCompareList(new String[]{iphoneUrl, htcUrl}, new String[]{iphoneID, htcID});
 
         // Verify products in the compare list
-        List<String> expectedProducts = List.of("Apple iPhone 16 128GB", "HTC One Mini Blue");
+        List<String> expectedProducts = List.of(iphoneName, htcName);
         main.verifyCompareList(expectedProducts);
     }
 
     @Test(groups = {"functional"}, description = "TC-282")
     public void verifySocialMediaSharing() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -9,6 +9,7 @@ import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import base.BaseTest;
+import utils.AccountPool;
 import utils.MainFunctionalities;
 import utils.SeleniumHelper;
 import utils.ConfigReader;
@@ -44,7 +45,7 @@ public class ReviewsTest extends BaseTest {
 
     @Test(groups = {"ui"}, description = "TC-060")
     public void verifyCustomerReviewsDisplayed() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -63,16 +64,11 @@ public class ReviewsTest extends BaseTest {
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        String firstName = "Test";
-        String lastName = "User";
-        String email = "TestUserTest@TestUser.Test";
-        String password = "123456";
-
-        // Step 1: Register a new user
-        main.register(firstName, lastName, email, password);
+        // Step 1: Lease a registered account
+        AccountPool.Account account = main.leaseAccount();
 
         // Step 2: Login with valid credentials
-        main.login(email, password);
+        main.loginWithSession(account.getEmail(), account.getPassword());
 
         // Step 3: Go to the product page
         driver.get("https://demo.nopcommerce.com/25-virtual-gift-card");
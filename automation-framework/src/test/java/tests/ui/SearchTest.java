@@ -4,6 +4,7 @@ import base.BaseTest;
 import io.reactivex.rxjava3.core.Single;
 import utils.ConfigReader;
 import utils.MainFunctionalities;
+import utils.Navigation;
 import utils.SeleniumHelper;
 
 import org.testng.Assert;
@@ -25,7 +26,7 @@ public class SearchTest extends BaseTest {
 
     @Test(groups = {"smoke"}, description = "TC-002")
     public void verifySearchFunctionality() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 5);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -39,7 +40,7 @@ public class SearchTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-038")
     public void verifySearchByCategory() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 5);
         SeleniumHelper helper = new SeleniumHelper(driver);
 
         logger.info("Navigating to: " + url);
@@ -66,15 +67,12 @@ public class SearchTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-042")
     public void verifyPaginationInSearchResults() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 10);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        logger.info("Navigating to: " + url);
-        driver.get(url);
-
-        // Step 1: Search for a product
-        main.searchProduct("Computer");
+        // Step 1: Open the search results for a product
+        Navigation.search("Computer").open(driver);
 
         // Step 2: Verify pagination
         // Check if pagination exists
@@ -97,22 +95,19 @@ public class SearchTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-043")
     public void verifySortingOptions() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 10);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        logger.info("Navigating to: " + url);
-        driver.get(url);
+        // Step 1: Open the search results for a product
+        Navigation.search("Computer").open(driver);
 
-        // Step 1: Search for a product
-        main.searchProduct("Computer");
-
-        // Step 3: Locate the sorting dropdown
+        // Step 2: Locate the sorting dropdown
         helper.realisticDelay();
         WebElement sortingDropdown = helper.waitForClickable(helper.getByLocator("sorting.order"));
         Select select = new Select(sortingDropdown);
 
-        // Step 4: Verify sorting options
+        // Step 3: Verify sorting options
         String[] sortingOptions = {"Price: Low to High", "Price: High to Low", "Name: A to Z", "Name: Z to A"};
         for (String option : sortingOptions) {
             select.selectByVisibleText(option);
@@ -130,15 +125,12 @@ public class SearchTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-044")
     public void verifyFilteringByManufacturer() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 10);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        logger.info("Navigating to: " + url);
-        driver.get(url);
-
-        // Step 1: Navigate to a subcategory
-        main.navigateToSubcategory("Computers", "Notebooks", wait, helper);
+        // Step 1: Open the Notebooks subcategory
+        Navigation.category("notebooks").open(driver);
 
         // Step 2: Apply manufacturer filter
         main.applyManufacturerFilter("attribute-manufacturer-2", wait, helper);
@@ -149,15 +141,12 @@ public class SearchTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-048")
     public void verifyInvalidSearchTerm() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 10);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        logger.info("Navigating to: " + url);
-        driver.get(url);
-
-        // Step 1: Search for an invalid product
-        main.searchProduct("xyz123invalidterm");
+        // Step 1: Open the search results for an invalid product
+        Navigation.search("xyz123invalidterm").open(driver);
 
         // Step 2: Verify no search results
         main.checkNoSearchResults(wait);
@@ -167,18 +156,12 @@ public class SearchTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-050")
     public void verifyClearingFilters() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 10);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        logger.info("Navigating to: " + url);
-        driver.get(url);
-
-        // Navigate to Notebooks category
-        main.navigateToCategory("Computers", "Notebooks", wait, helper);
-
-        // Apply HP filter
-        main.applyManufacturerFilter("attribute-manufacturer-2", wait, helper);
+        // Open the Notebooks category with the HP filter applied
+        Navigation.category("notebooks").manufacturers(2).open(driver);
 
         // Verify products are displayed under HP filter
         main.verifyFilteredProducts(wait);
@@ -196,7 +179,7 @@ public class SearchTest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-051")
     public void verifyAutoSuggestionsInSearchBar() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 10);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -8,8 +8,10 @@ import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import base.BaseTest;
+import utils.AccountPool;
 import utils.MainFunctionalities;
 import utils.SeleniumHelper;
+import utils.TestData;
 import utils.ConfigReader;
 
 import org.testng.Assert;
@@ -37,20 +39,15 @@ public class SecurityTest extends BaseTest {
 
     @Test(groups = {"smoke", "security"}, description = "TC-021")
     public void verifySessionHandling() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        String firstName = "Test";
-        String lastName = "User";
-        String emailAddress = "TestUserTestverify1@TestUser.Test";
-        String validPassword = "123456";
+        // Step 1: Lease a registered account
+        AccountPool.Account account = main.leaseAccount();
 
-        // Step 1: register with valid credentials
-        main.register(firstName, lastName, emailAddress, validPassword);
-
-        // Step 2: Verify that the user is logged in after registration
-        main.login(emailAddress, validPassword);
+        // Step 2: Verify that the user is logged in
+        main.loginWithSession(account.getEmail(), account.getPassword());
 
         // Step 3: Refresh the browser to simulate session persistence
         driver.navigate().refresh();
@@ -64,20 +61,19 @@ public class SecurityTest extends BaseTest {
 
     @Test(groups = {"security"}, description = "TC-027")
     public void verifyAccountLockoutAfterMultipleFailedLoginAttempts() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        String firstName = "Test";
-        String lastName = "User";
-        String emailAddress = "TestUserTestLock1@TestUser.Test";
-        String validPassword = "123456";
         String wrongPassword = "123";
         final int maxFailedAttempts = 10;
         final String lockoutMessageText = "Your account has been locked";
 
-        // Step 1: Register a new account
-        main.register(firstName, lastName, emailAddress, validPassword);
+        // Step 1: Lease a registered account; it is locked out by this test, so it is not reused
+        AccountPool.Account account = main.leaseAccount();
+        AccountPool.retire(account, "locked out by TC-027");
+        String emailAddress = account.getEmail();
+        String validPassword = account.getPassword();
 
         // Step 2: Attempt to log in with incorrect credentials multiple times
         for (int attempt = 1; attempt <= maxFailedAttempts; attempt++) {
@@ -126,7 +122,7 @@ public class SecurityTest extends BaseTest {
 
     @Test(groups = {"security"}, description = "TC-034")
     public void verifyPasswordStrengthRequirements() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
@@ -153,29 +149,14 @@ public class SecurityTest extends BaseTest {
 
     @Test(groups = {"security"}, description = "TC-091")
     public void verifyPaymentGatewaySecurity() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        String[] checkoutDetails = {
-                "Maegan",
-                "Rolfson",
-                "385d163bdd@emaily.pro",
-                "United States of America",
-                "Alaska",
-                "Anchorage",
-                "PO Box 242941",
-                "99524",
-                "9072430988",
-                "Maegan Rolfson",
-                "3595972973139459",
-                "10",
-                "2029",
-                "469" // CVV
-        };
+        String[] checkoutDetails = TestData.details(TestData.customer("maegan"), TestData.card("maegan-jcb"));
 
         // Step 1: Add product to cart
-        main.addProductToCart(photoshopUrl, photoshopID);
+        main.prepareCart(photoshopUrl, photoshopID);
 
         // Step 2: Perform guest checkout
         main.checkoutAsGuest(checkoutDetails);
@@ -200,18 +181,15 @@ public class SecurityTest extends BaseTest {
 
     @Test(groups = {"security"}, description = "TC-118")
     public void verifyChangePasswordFromDashboard() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
         MainFunctionalities main = new MainFunctionalities(driver);
 
-        String firstName = "Test";
-        String lastName = "User";
-        String emailAddress = "TestUserTestChange2@TestUser.Test";
-        String validPassword = "123456";
-        String newPassword = "1234567";
-
-        // Step 1: Register a new account
-        main.register(firstName, lastName, emailAddress, validPassword);
+        // Step 1: Lease a registered account
+        AccountPool.Account account = main.leaseAccount();
+        String emailAddress = account.getEmail();
+        String validPassword = account.getPassword();
+        String newPassword = validPassword + "7";
 
         // Step 2: Login with valid credentials
         main.login(emailAddress, validPassword);
@@ -222,6 +200,7 @@ public class SecurityTest extends BaseTest {
 
         // Step 4: Change password
         main.changePassword(validPassword, newPassword);
+        AccountPool.markPasswordChanged(account, newPassword);
 
         // Step 5: Log out after changing the password
         main.logout();
@@ -234,7 +213,7 @@ public class SecurityTest extends BaseTest {
 
     @Test(groups = {"security"}, description = "TC-126")
     public void verifyProtectionAgainstXSS() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
 
         // Step 1: Navigate to the page where input fields are located
@@ -288,7 +267,7 @@ public class SecurityTest extends BaseTest {
 
     @Test(groups = {"compliance"}, description = "TC-292")
     public void verifyHTTPSProtocol() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         SeleniumHelper helper = new SeleniumHelper(driver);
 
         // List of URLs to test (Without 'https://')
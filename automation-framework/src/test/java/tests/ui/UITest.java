@@ -29,7 +29,7 @@ public class UITest extends BaseTest {
 
     @Test(groups = {"functional"}, description = "TC-282")
     public void verifySocialMediaSharing() throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
 
         // Step 1: Navigate to the product page
         driver.get("https://demo.nopcommerce.com/fahrenheit-451-by-ray-bradbury");
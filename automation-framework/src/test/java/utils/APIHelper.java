@@ -0,0 +1,436 @@
+package utils;
+
+import base.CloudflareBypass;
+import base.DriverPool;
+
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.entity.UrlEncodedFormEntity;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.BasicNameValuePair;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds test preconditions (cart, compare list, accounts) over HTTP instead of through the UI.
+ * <p>
+ * Requests carry the browser session's own cookies and user agent (the Cloudflare clearance is bound to both),
+ * post the same endpoints the storefront's AJAX buttons use, and copy any cookies the server sets back into
+ * the browser, so the state they create is what the browser sees on its next page load.
+ * A {@link #detached()} helper has no browser and starts from the shared bypass cookies instead.
+ */
+public class APIHelper {
+    private static final Logger logger = LogManager.getLogger(APIHelper.class);
+
+    private static final int TIMEOUT_SECONDS = ConfigReader.getIntProperty("api.timeoutSeconds", 30);
+
+    // Cart type used by nopCommerce's add-to-cart routes
+    private static final int SHOPPING_CART = 1;
+
+    private static final String TOKEN_FIELD = "__RequestVerificationToken";
+    private static final Pattern INPUT_TAG = Pattern.compile("<input\\b[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern VALUE_ATTR = Pattern.compile("\\bvalue=\"([^\"]*)\"", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FORM_ERROR = Pattern.compile(
+            "class=\"(?:message-error|field-validation-error)[^\"]*\"[^>]*>(?:\\s*<[^>]+>)*\\s*([^<]+)", Pattern.CASE_INSENSITIVE);
+
+    // No cookie store: every request sends exactly the cookies of the browser session it acts for
+    private static final CloseableHttpClient client = HttpClients.custom()
+            .disableCookieManagement()
+            .disableRedirectHandling()
+            .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(50)
+                    .setMaxConnPerRoute(50)
+                    .build())
+            .setDefaultRequestConfig(RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.ofSeconds(TIMEOUT_SECONDS))
+                    .setResponseTimeout(Timeout.ofSeconds(TIMEOUT_SECONDS))
+                    .build())
+            .build();
+
+    private static final AtomicLong requestCount = new AtomicLong();
+    private static final AtomicLong requestMillis = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                client.close();
+            } catch (IOException ignored) {
+            }
+        }));
+    }
+
+    private final WebDriver driver;
+    private final String baseUrl;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+    private String userAgent;
+    private String token;
+
+    public APIHelper(WebDriver driver) {
+        this.driver = driver;
+        this.baseUrl = ConfigReader.getProperty("baseURL", "https://demo.nopcommerce.com/").replaceAll("/+$", "");
+    }
+
+    private APIHelper(Map<String, String> cookies, String userAgent) {
+        this(null);
+        this.cookies.putAll(cookies);
+        this.userAgent = userAgent;
+    }
+
+    /**
+     * A browserless helper with its own cookie jar, seeded with the (cached) Cloudflare bypass cookies and the
+     * user agent they were issued to. Each one acts as a separate visitor, so several can run concurrently.
+     */
+    public static APIHelper detached() {
+        String url = ConfigReader.getProperty("baseURL", "https://demo.nopcommerce.com/");
+        Map<String, String> data = CloudflareBypass.getBypassedData(url);
+        if (data == null || data.isEmpty()) {
+            throw new RuntimeException("Failed to retrieve bypassed cookies for HTTP setup.");
+        }
+
+        Map<String, String> cookies = new LinkedHashMap<>();
+        JSONArray array = new JSONArray(data.getOrDefault("cookies", "[]"));
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject cookie = array.getJSONObject(i);
+            cookies.put(cookie.getString("name"), cookie.getString("value"));
+        }
+        return new APIHelper(cookies, DriverPool.USER_AGENT);
+    }
+
+    public void addToCart(String productId, int quantity) {
+        addProduct(productId, quantity);
+    }
+
+    public void addToCompareList(String productId) {
+        JSONObject response = postJson("/compareproducts/add/" + productId, new ArrayList<>());
+        if (!response.optBoolean("success", false)) {
+            throw new RuntimeException("Could not add product " + productId + " to the compare list: " + response);
+        }
+        logger.info("🔌 Added product " + productId + " to the compare list over HTTP.");
+    }
+
+    /**
+     * Registers a customer through the storefront's registration form. The helper is logged in as that
+     * customer afterwards (see {@link #getCookies()}).
+     *
+     * @throws RuntimeException with the form's error (e.g. the email already exists) when registration fails
+     */
+    public void register(String firstName, String lastName, String email, String password) {
+        List<NameValuePair> form = new ArrayList<>();
+        form.add(new BasicNameValuePair("FirstName", firstName));
+        form.add(new BasicNameValuePair("LastName", lastName));
+        form.add(new BasicNameValuePair("Email", email));
+        form.add(new BasicNameValuePair("Password", password));
+        form.add(new BasicNameValuePair("ConfirmPassword", password));
+        form.add(new BasicNameValuePair("register-button", "Register"));
+
+        Response response = postForm("/register", form);
+        if (response.location == null || !response.location.toLowerCase().contains("registerresult")) {
+            throw new RuntimeException("Registration of " + email + " failed: " + formError(response.body));
+        }
+        logger.info("🔌 Registered " + email + " over HTTP.");
+    }
+
+    // Credential check without a browser: a successful login answers with a redirect
+    public boolean login(String email, String password) {
+        List<NameValuePair> form = new ArrayList<>();
+        form.add(new BasicNameValuePair("Email", email));
+        form.add(new BasicNameValuePair("Password", password));
+        form.add(new BasicNameValuePair("RememberMe", "false"));
+
+        Response response = postForm("/login", form);
+        boolean success = response.location != null && !response.location.toLowerCase().contains("/login");
+        if (!success) {
+            logger.info("HTTP login as " + email + " failed: " + formError(response.body));
+        }
+        return success;
+    }
+
+    // Cookies of this helper's session (name to value), e.g. the auth cookie after register or login
+    public Map<String, String> getCookies() {
+        return new LinkedHashMap<>(cookies);
+    }
+
+    // Tries the catalog route first; products with attributes or a minimum quantity answer with a redirect
+    // to their page, and are then posted through the product details route like the product page does
+    private void addProduct(String productId, int quantity) {
+        JSONObject response = postJson("/addproducttocart/catalog/" + productId + "/" + SHOPPING_CART + "/" + quantity, new ArrayList<>());
+
+        if (response.has("redirect") && !response.optBoolean("success", false)) {
+            String productPage = absolute(response.getString("redirect"));
+            String html = get(productPage);
+            String field = "addtocart_" + productId + ".EnteredQuantity";
+            int minimum = parseQuantity(inputValue(html, field));
+
+            List<NameValuePair> form = new ArrayList<>();
+            form.add(new BasicNameValuePair(field, String.valueOf(Math.max(quantity, minimum))));
+            response = postJson("/addproducttocart/details/" + productId + "/" + SHOPPING_CART, form);
+        }
+
+        if (!response.optBoolean("success", false)) {
+            throw new RuntimeException("Could not add product " + productId + " to the cart: " + response);
+        }
+        logger.info("🔌 Added product " + productId + " to the cart over HTTP (quantity " + quantity + ").");
+    }
+
+    private JSONObject postJson(String path, List<NameValuePair> form) {
+        form.add(new BasicNameValuePair(TOKEN_FIELD, token()));
+        HttpPost post = new HttpPost(absolute(path));
+        post.setHeader("X-Requested-With", "XMLHttpRequest");
+        post.setHeader("Accept", "application/json, text/javascript, */*; q=0.01");
+        post.setEntity(new UrlEncodedFormEntity(form, StandardCharsets.UTF_8));
+
+        String body = execute(post).body;
+        try {
+            return new JSONObject(body);
+        } catch (JSONException e) {
+            throw new RuntimeException("Unexpected (non-JSON) response from " + path + ": "
+                    + body.substring(0, Math.min(200, body.length())), e);
+        }
+    }
+
+    // Full-page form post; the token comes from the form's own page, as the site issues it per page
+    private Response postForm(String path, List<NameValuePair> form) {
+        String page = get(absolute(path));
+        String formToken = inputValue(page, TOKEN_FIELD);
+        form.add(new BasicNameValuePair(TOKEN_FIELD, formToken != null ? formToken : token()));
+
+        HttpPost post = new HttpPost(absolute(path));
+        post.setHeader("Accept", "text/html,application/xhtml+xml");
+        post.setEntity(new UrlEncodedFormEntity(form, StandardCharsets.UTF_8));
+        return execute(post);
+    }
+
+    private String get(String url) {
+        HttpGet get = new HttpGet(url);
+        get.setHeader("Accept", "text/html,application/xhtml+xml");
+        return execute(get).body;
+    }
+
+    private Response execute(HttpUriRequestBase request) {
+        loadSession();
+        request.setHeader("User-Agent", userAgent);
+        request.setHeader("Referer", baseUrl + "/");
+        request.setHeader("Cookie", cookieHeader());
+
+        long start = System.currentTimeMillis();
+        try {
+            return client.execute(request, response -> {
+                syncCookies(response.getHeaders("Set-Cookie"));
+                String body = response.getEntity() == null ? "" : EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+                int status = response.getCode();
+                if (status == 403 || status == 429 || status == 503) {
+                    Pacing.signalThrottled("HTTP " + status + " from " + request.getRequestUri());
+                }
+                if (status >= 400) {
+                    throw new RuntimeException("HTTP " + status + " from " + request.getMethod() + " " + request.getRequestUri());
+                }
+                Header location = response.getFirstHeader("Location");
+                return new Response(status, location == null ? null : location.getValue(), body);
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Request failed: " + request.getMethod() + " " + request.getRequestUri(), e);
+        } finally {
+            requestCount.incrementAndGet();
+            requestMillis.addAndGet(System.currentTimeMillis() - start);
+        }
+    }
+
+    // Step 1: Take over the browser's cookies and user agent (once per helper)
+    private void loadSession() {
+        if (userAgent != null) return;
+        if (driver == null) throw new IllegalStateException("Detached APIHelper has no user agent");
+        ensureOnSite();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            cookies.put(cookie.getName(), cookie.getValue());
+        }
+        userAgent = String.valueOf(((JavascriptExecutor) driver).executeScript("return navigator.userAgent;"));
+    }
+
+    // Step 2: Use the anti-forgery token of the page the browser is on, or fetch one with the session's cookies
+    private String token() {
+        if (token != null) return token;
+        loadSession();
+        Object fromPage = driver == null ? null : ((JavascriptExecutor) driver).executeScript(
+                "var e = document.querySelector('input[name=\"" + TOKEN_FIELD + "\"]'); return e ? e.value : null;");
+        token = fromPage != null ? fromPage.toString() : inputValue(get(baseUrl + "/"), TOKEN_FIELD);
+        if (token == null) {
+            throw new RuntimeException("No anti-forgery token found for " + baseUrl);
+        }
+        return token;
+    }
+
+    // Step 3: Hand cookies set by the server (new antiforgery or customer cookies) back to the browser
+    private void syncCookies(Header[] setCookies) {
+        for (Header header : setCookies) {
+            String[] parts = header.getValue().split(";");
+            int eq = parts[0].indexOf('=');
+            if (eq <= 0) continue;
+            String name = parts[0].substring(0, eq).trim();
+            String value = parts[0].substring(eq + 1).trim();
+
+            String path = "/";
+            boolean secure = false;
+            boolean httpOnly = false;
+            String sameSite = null;
+            Date expiry = null;
+            Long maxAge = null;
+            for (int i = 1; i < parts.length; i++) {
+                String attribute = parts[i].trim();
+                String lower = attribute.toLowerCase();
+                if (lower.startsWith("path=")) path = attribute.substring(5);
+                else if (lower.equals("secure")) secure = true;
+                else if (lower.equals("httponly")) httpOnly = true;
+                else if (lower.startsWith("samesite=")) sameSite = capitalize(attribute.substring(9));
+                else if (lower.startsWith("expires=")) expiry = parseExpires(attribute.substring(8));
+                else if (lower.startsWith("max-age=")) maxAge = parseMaxAge(attribute.substring(8));
+            }
+            // Max-Age wins over Expires when both are present
+            if (maxAge != null) expiry = new Date(System.currentTimeMillis() + maxAge * 1000);
+
+            // An expired cookie is the server deleting it: drop it instead of storing an empty live value
+            if (expiry != null && !expiry.after(new Date())) {
+                cookies.remove(name);
+                if (driver == null) continue;
+                driver.manage().deleteCookieNamed(name);
+                logger.info("🍪 Removed cookie expired by HTTP setup from the browser: " + name);
+                continue;
+            }
+
+            cookies.put(name, value);
+            if (driver == null) continue;
+            Cookie.Builder builder = new Cookie.Builder(name, value).path(path).isSecure(secure).isHttpOnly(httpOnly);
+            if (sameSite != null) builder.sameSite(sameSite);
+            if (expiry != null) builder.expiresOn(expiry);
+            driver.manage().addCookie(builder.build());
+            logger.info("🍪 Synced cookie from HTTP setup into the browser: " + name);
+        }
+    }
+
+    // Cookies can only be read and written for the document's own site
+    private void ensureOnSite() {
+        String current = driver.getCurrentUrl();
+        if (current == null || !host(current).equals(host(baseUrl))) {
+            logger.info("Browser is not on " + baseUrl + " (" + current + "), navigating there before HTTP setup.");
+            driver.get(baseUrl);
+        }
+    }
+
+    private String cookieHeader() {
+        StringBuilder header = new StringBuilder();
+        for (Map.Entry<String, String> cookie : cookies.entrySet()) {
+            if (header.length() > 0) header.append("; ");
+            header.append(cookie.getKey()).append('=').append(cookie.getValue());
+        }
+        return header.toString();
+    }
+
+    private String absolute(String path) {
+        return path.startsWith("http") ? path : baseUrl + (path.startsWith("/") ? "" : "/") + path;
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host;
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    // Value of the first <input> with the given name in an HTML page
+    private static String inputValue(String html, String name) {
+        Matcher tags = INPUT_TAG.matcher(html);
+        while (tags.find()) {
+            String tag = tags.group();
+            if (tag.contains("name=\"" + name + "\"")) {
+                Matcher value = VALUE_ATTR.matcher(tag);
+                return value.find() ? value.group(1) : "";
+            }
+        }
+        return null;
+    }
+
+    // First error shown by a full-page form (summary message or field validation)
+    private static String formError(String html) {
+        Matcher error = FORM_ERROR.matcher(html);
+        return error.find() ? error.group(1).trim() : "no error message on the page";
+    }
+
+    private static int parseQuantity(String value) {
+        try {
+            return value == null ? 1 : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private static String capitalize(String value) {
+        return value.isEmpty() ? value : Character.toUpperCase(value.charAt(0)) + value.substring(1).toLowerCase();
+    }
+
+    // HTTP date as sent in Expires (also the older "01-Jan-1970" form); null when unparseable, i.e. a session cookie
+    private static Date parseExpires(String value) {
+        try {
+            return Date.from(ZonedDateTime.parse(value.trim().replace('-', ' '), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Long parseMaxAge(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static class Response {
+        final int status;
+        final String location;
+        final String body;
+
+        Response(int status, String location, String body) {
+            this.status = status;
+            this.location = location;
+            this.body = body;
+        }
+    }
+
+    public static long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public static long getRequestMillis() {
+        return requestMillis.get();
+    }
+}
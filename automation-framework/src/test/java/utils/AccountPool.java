@@ -0,0 +1,213 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Customer accounts leased to tests, one owner at a time.
+ * <p>
+ * Accounts get run-unique emails, so reruns and parallel runs never collide, and are registered over HTTP
+ * (several at once) ahead of the tests that need them. A test leases an account, reports what it did to it
+ * (changed password, locked it out) and the lease ends in {@code BaseTest.tearDown}: clean accounts go back
+ * to the pool, retired ones are replaced by fresh accounts on demand.
+ */
+public class AccountPool {
+    private static final Logger logger = LogManager.getLogger(AccountPool.class);
+
+    private static final int MAX_SIZE = Math.max(1, ConfigReader.getIntProperty("accounts.pool.size", 8));
+    private static final int PRE_PROVISION = Math.min(MAX_SIZE, ConfigReader.getIntProperty("accounts.pool.preProvision", 4));
+    private static final int LEASE_TIMEOUT = ConfigReader.getIntProperty("accounts.pool.leaseTimeoutSeconds", 300);
+    private static final long WAIT_SLICE_MILLIS = 500;
+    private static final String DOMAIN = ConfigReader.getProperty("accounts.pool.domain", "TestUser.Test");
+    private static final String PASSWORD = ConfigReader.getProperty("accounts.pool.password", "Pool123456");
+
+    // Part of every email, unique per run
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    // Registration is mostly waiting on the network, so virtual threads fit
+    private static final ExecutorService provisioner = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final LinkedBlockingQueue<Account> available = new LinkedBlockingQueue<>();
+    private static final ThreadLocal<List<Account>> leased = ThreadLocal.withInitial(ArrayList::new);
+    private static final AtomicInteger created = new AtomicInteger();
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private static final AtomicLong leases = new AtomicLong();
+    private static final AtomicLong provisioned = new AtomicLong();
+    private static final AtomicLong provisionMillis = new AtomicLong();
+    private static final AtomicLong retired = new AtomicLong();
+
+    public static class Account {
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private volatile String password;
+        private volatile boolean registered;
+        private volatile String retiredReason;
+
+        Account(String firstName, String lastName, String email, String password) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.password = password;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        // False when HTTP registration was not possible; MainFunctionalities.leaseAccount then registers through the UI
+        public boolean isRegistered() {
+            return registered;
+        }
+
+        @Override
+        public String toString() {
+            return email;
+        }
+    }
+
+    // Registers the first accounts in the background while the suite starts
+    public static void warmUp() {
+        int submitted = 0;
+        for (; submitted < PRE_PROVISION && reserveSlot(); submitted++) {
+            provisioner.submit(() -> available.offer(provision()));
+        }
+        logger.info("👥 Provisioning " + submitted + " pooled account(s) for run " + RUN_ID + ".");
+    }
+
+    /**
+     * Hands out an account owned by the calling test until its tearDown.
+     *
+     * @return A free account; a new one is provisioned when all are leased and the pool is not full
+     * @throws RuntimeException when no account frees up within {@code accounts.pool.leaseTimeoutSeconds}
+     */
+    public static Account lease() {
+        Account account = available.poll();
+        if (account == null && reserveSlot()) {
+            account = provision();
+        }
+        if (account == null) {
+            logger.info("👥 All " + MAX_SIZE + " pooled accounts are leased, waiting for one to be released.");
+            account = awaitAccount();
+        }
+
+        leased.get().add(account);
+        leases.incrementAndGet();
+        logger.info("👥 Leased account " + account + ".");
+        return account;
+    }
+
+    // Waits for a released account, or for a retired one to free its slot (retiring hands nothing to the queue)
+    private static Account awaitAccount() {
+        long deadline = System.currentTimeMillis() + LEASE_TIMEOUT * 1000L;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                Account account = available.poll(Math.min(WAIT_SLICE_MILLIS, Math.max(1, deadline - System.currentTimeMillis())), TimeUnit.MILLISECONDS);
+                if (account != null) return account;
+                if (reserveSlot()) return provision();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pooled account", e);
+        }
+        throw new RuntimeException("No pooled account became free within " + LEASE_TIMEOUT + " seconds");
+    }
+
+    static void markRegistered(Account account) {
+        account.registered = true;
+    }
+
+    // The account stays usable with its new password; its cached session is no longer valid
+    public static void markPasswordChanged(Account account, String newPassword) {
+        account.password = newPassword;
+        SessionCache.invalidate(account.email);
+    }
+
+    // The account will not be handed out again (locked out, deleted, data the next test cannot undo)
+    public static void retire(Account account, String reason) {
+        account.retiredReason = reason;
+        SessionCache.invalidate(account.email);
+    }
+
+    // Ends every lease of the calling test (BaseTest.tearDown)
+    public static void releaseAll() {
+        List<Account> accounts = leased.get();
+        for (Account account : accounts) {
+            if (account.retiredReason != null) {
+                retired.incrementAndGet();
+                created.decrementAndGet();
+                logger.info("👥 Retired account " + account + ": " + account.retiredReason);
+            } else {
+                available.offer(account);
+            }
+        }
+        accounts.clear();
+    }
+
+    // Registers a new run-unique account over HTTP and caches its logged-in session
+    private static Account provision() {
+        int n = sequence.incrementAndGet();
+        Account account = new Account("Pool", "User" + n, "pool." + RUN_ID + "." + n + "@" + DOMAIN, PASSWORD);
+
+        long start = System.currentTimeMillis();
+        try {
+            APIHelper api = APIHelper.detached();
+            api.register(account.firstName, account.lastName, account.email, account.password);
+            account.registered = true;
+            SessionCache.store(account.email, api.getCookies());
+            provisioned.incrementAndGet();
+        } catch (Exception e) {
+            logger.warn("HTTP registration of " + account + " failed, it will be registered through the UI: " + e.getMessage());
+        } finally {
+            provisionMillis.addAndGet(System.currentTimeMillis() - start);
+        }
+        return account;
+    }
+
+    private static boolean reserveSlot() {
+        while (true) {
+            int current = created.get();
+            if (current >= MAX_SIZE) return false;
+            if (created.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    public static long getLeases() {
+        return leases.get();
+    }
+
+    public static long getProvisioned() {
+        return provisioned.get();
+    }
+
+    public static long getAverageProvisionMillis() {
+        long count = sequence.get();
+        return count == 0 ? 0 : provisionMillis.get() / count;
+    }
+
+    public static long getRetired() {
+        return retired.get();
+    }
+}
@@ -3,6 +3,7 @@ package utils;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Properties;
+import java.util.Set;
 
 public class ConfigReader {
     private static final Properties properties = new Properties();
@@ -23,7 +24,30 @@ public class ConfigReader {
         return value;
     }
 
+    // Optional settings: fall back to the default without printing a warning
+    public static String getProperty(String key, String defaultValue) {
+        String value = System.getProperty(key, properties.getProperty(key));
+        return (value == null || value.trim().isEmpty()) ? defaultValue : value.trim();
+    }
+
     public static int getIntProperty(String key) {
         return Integer.parseInt(properties.getProperty(key));
     }
+
+    public static int getIntProperty(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(getProperty(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            System.err.println("Warning: Property '" + key + "' is not a number, using " + defaultValue + ".");
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(getProperty(key, String.valueOf(defaultValue)));
+    }
+
+    public static Set<String> getPropertyNames() {
+        return properties.stringPropertyNames();
+    }
 }
@@ -0,0 +1,77 @@
+package utils;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One container element read by {@link SeleniumHelper#extract}: its own text, visibility and attributes,
+ * plus the same data for the first match of every named child field.
+ */
+public class DomRecord {
+    private final Map<String, Object> self;
+    private final Map<String, Object> fields;
+
+    @SuppressWarnings("unchecked")
+    DomRecord(Map<String, Object> raw) {
+        this.self = raw.get("self") instanceof Map ? (Map<String, Object>) raw.get("self") : Collections.emptyMap();
+        this.fields = raw.get("fields") instanceof Map ? (Map<String, Object>) raw.get("fields") : Collections.emptyMap();
+    }
+
+    // Container element
+    public String text() {
+        return textOf(self);
+    }
+
+    public boolean isDisplayed() {
+        return displayedOf(self);
+    }
+
+    public String attribute(String name) {
+        return attributeOf(self, name);
+    }
+
+    // Child fields; a field whose locator matched nothing has no text and is not displayed
+    public boolean has(String field) {
+        return fields.get(field) instanceof Map;
+    }
+
+    public String text(String field) {
+        return textOf(field(field));
+    }
+
+    public boolean isDisplayed(String field) {
+        return displayedOf(field(field));
+    }
+
+    public String attribute(String field, String name) {
+        return attributeOf(field(field), name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> field(String field) {
+        Object data = fields.get(field);
+        return data instanceof Map ? (Map<String, Object>) data : Collections.emptyMap();
+    }
+
+    private static String textOf(Map<String, Object> data) {
+        Object text = data.get("text");
+        return text == null ? null : text.toString();
+    }
+
+    private static boolean displayedOf(Map<String, Object> data) {
+        return Boolean.TRUE.equals(data.get("displayed"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String attributeOf(Map<String, Object> data, String name) {
+        Object attributes = data.get("attributes");
+        if (!(attributes instanceof Map)) return null;
+        Object value = ((Map<String, Object>) attributes).get(name);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "DomRecord{self=" + self + ", fields=" + fields + "}";
+    }
+}
@@ -0,0 +1,215 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Immutable map of config.properties locator keys to prebuilt {@link By} objects.
+ * <p>
+ * Built once on first use. Entries with an unknown prefix, a missing prefix, an empty selector or
+ * invalid XPath are kept out of the registry and reported at startup, so a lookup of a broken key
+ * fails immediately instead of after a wait times out. Keys in the framework's setting namespaces
+ * (driver.*, bypass.*, session.*, ...) are not locators and are skipped.
+ */
+public class LocatorRegistry {
+    private static final Logger logger = LogManager.getLogger(LocatorRegistry.class);
+
+    private static final String SOURCE_ROOT = "src/test/java";
+    private static final boolean FAIL_ON_ERROR = ConfigReader.getBooleanProperty("locators.failOnError", false);
+
+    // Prefix -> factory, in the same order getByLocator used to check them
+    // First segment of setting keys: their values are paths, cookie names, numbers etc., never locators
+    private static final Set<String> SETTING_NAMESPACES = Set.of(
+            "accounts", "api", "bypass", "driver", "form", "locators", "nav", "pacing", "parallel",
+            "reports", "results", "screenshots", "session", "testdata", "wait"
+    );
+
+    private static final Map<String, Function<String, By>> FACTORIES = Map.of(
+            "id", By::id,
+            "css", By::cssSelector,
+            "xpath", By::xpath,
+            "linkText", By::linkText,
+            "name", By::name,
+            "className", By::className
+    );
+
+    // Anything shaped like "word=..." is treated as a locator; URLs, names and numbers are not
+    private static final Pattern PREFIXED = Pattern.compile("^([A-Za-z]+)=(.*)$");
+    private static final Pattern REFERENCED_KEY = Pattern.compile("getByLocator\\(\"([^\"]+)\"\\)");
+
+    private static final Map<String, By> locators;
+    private static final Map<String, String> errors;
+    private static final Map<String, List<String>> duplicates;
+    private static final Set<String> missingKeys;
+
+    static {
+        Map<String, By> built = new TreeMap<>();
+        Map<String, String> broken = new TreeMap<>();
+        Map<String, List<String>> bySelector = new TreeMap<>();
+
+        for (String key : ConfigReader.getPropertyNames()) {
+            if (isSetting(key)) continue;
+            String value = ConfigReader.getProperty(key).trim();
+            Matcher matcher = PREFIXED.matcher(value);
+
+            if (!matcher.matches()) {
+                // Raw selectors that lost their prefix, e.g. ".register" or "//a[...]"
+                if (value.startsWith("//") || value.startsWith(".") || value.startsWith("#")) {
+                    broken.put(key, "missing locator prefix: " + value);
+                }
+                continue;
+            }
+
+            String prefix = matcher.group(1);
+            String selector = matcher.group(2).trim();
+            Function<String, By> factory = FACTORIES.get(prefix);
+            if (factory == null) {
+                broken.put(key, "unknown locator prefix '" + prefix + "': " + value);
+                continue;
+            }
+            if (selector.isEmpty()) {
+                broken.put(key, "empty selector: " + value);
+                continue;
+            }
+            if (prefix.equals("xpath")) {
+                String problem = checkXPath(selector);
+                if (problem != null) {
+                    broken.put(key, "invalid XPath (" + problem + "): " + value);
+                    continue;
+                }
+            }
+
+            built.put(key, factory.apply(selector));
+            bySelector.computeIfAbsent(prefix + "=" + selector, k -> new ArrayList<>()).add(key);
+        }
+
+        bySelector.values().removeIf(keys -> keys.size() < 2);
+
+        locators = Collections.unmodifiableMap(built);
+        errors = Collections.unmodifiableMap(broken);
+        duplicates = Collections.unmodifiableMap(bySelector);
+        missingKeys = Collections.unmodifiableSet(findMissingKeys(built.keySet(), broken.keySet()));
+
+        logReport();
+    }
+
+    /**
+     * Returns the prebuilt locator for a config.properties key.
+     *
+     * @param key The property key from config.properties
+     * @return By object corresponding to the locator
+     */
+    public static By get(String key) {
+        By locator = locators.get(key);
+        if (locator != null) {
+            return locator;
+        }
+
+        String error = errors.get(key);
+        if (error != null) {
+            throw new RuntimeException("Locator for key '" + key + "' is invalid: " + error);
+        }
+        throw new RuntimeException("Locator for key '" + key + "' not found in config.properties.");
+    }
+
+    /**
+     * Forces the registry to load and, when {@code locators.failOnError=true}, aborts the run on any broken
+     * locator. Called from the suite setup so the report appears before the first browser starts.
+     */
+    public static void validate() {
+        if (FAIL_ON_ERROR && (!errors.isEmpty() || !missingKeys.isEmpty())) {
+            throw new RuntimeException("Locator validation failed: " + errors.size() + " invalid, "
+                    + missingKeys.size() + " missing. See the locator report in the log.");
+        }
+    }
+
+    private static boolean isSetting(String key) {
+        int dot = key.indexOf('.');
+        return dot > 0 && SETTING_NAMESPACES.contains(key.substring(0, dot));
+    }
+
+    private static String checkXPath(String selector) {
+        try {
+            XPathFactory.newInstance().newXPath().compile(selector);
+            return null;
+        } catch (XPathExpressionException e) {
+            return e.getMessage() != null ? e.getMessage() : "syntax error";
+        }
+    }
+
+    // Best effort: keys passed as literals to getByLocator that are not defined in config.properties. Scans the
+    // sources under src/test/java relative to the working directory, so it only finds anything when the run starts
+    // from the project root (as mvn does); keys built at runtime are never seen.
+    private static Set<String> findMissingKeys(Set<String> valid, Set<String> invalid) {
+        Set<String> missing = new TreeSet<>();
+        Path root = Paths.get(SOURCE_ROOT);
+        if (!Files.isDirectory(root)) {
+            logger.info("🔎 " + root.toAbsolutePath() + " not found, skipping the check for undefined locator keys.");
+            return missing;
+        }
+
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(path -> path.toString().endsWith(".java")).forEach(path -> {
+                try {
+                    Matcher matcher = REFERENCED_KEY.matcher(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+                    while (matcher.find()) {
+                        String key = matcher.group(1);
+                        if (!valid.contains(key) && !invalid.contains(key)) {
+                            missing.add(key);
+                        }
+                    }
+                } catch (IOException e) {
+                    logger.warn("Could not scan " + path + " for locator keys: " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Could not scan sources for locator keys: " + e.getMessage());
+        }
+        return missing;
+    }
+
+    private static void logReport() {
+        logger.info("🔎 Locator registry: " + locators.size() + " locator(s) compiled, " + errors.size()
+                + " invalid, " + missingKeys.size() + " missing, " + duplicates.size() + " duplicate selector(s).");
+
+        errors.forEach((key, error) -> logger.error("❌ Invalid locator '" + key + "': " + error));
+        missingKeys.forEach(key -> logger.error("❌ Missing locator '" + key + "' is referenced in code but not defined in config.properties."));
+        duplicates.forEach((selector, keys) -> logger.warn("⚠️ Duplicate selector " + selector + " used by keys " + keys));
+    }
+
+    public static int size() {
+        return locators.size();
+    }
+
+    public static Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public static Set<String> getMissingKeys() {
+        return missingKeys;
+    }
+
+    public static Map<String, List<String>> getDuplicates() {
+        return duplicates;
+    }
+}
@@ -6,6 +6,7 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.Select;
 
 import base.BaseTest;
+import listeners.ScreenshotStore;
 import utils.SeleniumHelper;
 import utils.ConfigReader;
 
@@ -22,7 +23,7 @@ public class MainFunctionalities extends BaseTest {
 
     public MainFunctionalities(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = SeleniumHelper.waitFor(driver, 10);
         this.helper = new SeleniumHelper(driver);
     }
 
@@ -34,6 +35,9 @@ public class MainFunctionalities extends BaseTest {
     private final String changePasswordUrl = "https://demo.nopcommerce.com/customer/changepassword";
     private final String myAccountUrl = "https://demo.nopcommerce.com/customer/info";
 
+    // Preconditions over HTTP (APIHelper) instead of the UI
+    private static final boolean API_SETUP = ConfigReader.getBooleanProperty("api.setup.enabled", true);
+
     public void login(String username, String password) throws InterruptedException {
         // Step 1: Navigate to the login page
         driver.get(loginUrl);
@@ -59,6 +63,34 @@ public class MainFunctionalities extends BaseTest {
         logger.info("User is logged in successfully.");
     }
 
+    /**
+     * Logs in as a test precondition: replays the account's cached session when there is one and the site still
+     * accepts it, otherwise does a real {@link #login(String, String)} and caches the resulting session.
+     */
+    public void loginWithSession(String username, String password) throws InterruptedException {
+        if (!SessionCache.isEnabled()) {
+            login(username, password);
+            return;
+        }
+
+        synchronized (SessionCache.lockFor(username)) {
+            // Step 1: Replay the cached session and check the header shows the account
+            if (SessionCache.restore(driver, username)) {
+                driver.navigate().refresh();
+                if (helper.isElementPresent(helper.getByLocator("account.icon"))) {
+                    SessionCache.recordHit();
+                    logger.info("User is logged in from the cached session.");
+                    return;
+                }
+                SessionCache.invalidate(username);
+            }
+
+            // Step 2: Real login, then keep the session for the next test on this account
+            login(username, password);
+            SessionCache.capture(driver, username);
+        }
+    }
+
     public void logout() throws InterruptedException {
         // Step 1: Verify successful login by checking for the presence of the logout button
         helper.realisticDelay();
@@ -91,28 +123,36 @@ public class MainFunctionalities extends BaseTest {
         driver.get(registrationUrl);
         logger.info("Navigating to registration page.");
 
-        // Step 2: Fill in the registration form with valid details
+        // Step 2: Fill in the registration form with valid details (one scripted call)
         helper.realisticDelay();
-        WebElement firstNameField = helper.waitForVisibility(helper.getByLocator("register.firstName"));
-        WebElement lastNameField = helper.waitForVisibility(helper.getByLocator("register.lastName"));
-        WebElement emailField = helper.waitForVisibility(helper.getByLocator("register.email"));
-        WebElement passwordField = helper.waitForVisibility(helper.getByLocator("register.password"));
-        WebElement confirmPasswordField = helper.waitForVisibility(helper.getByLocator("register.confirmPassword"));
-        WebElement registerButton = helper.waitForVisibility(helper.getByLocator("register.button"));
-
-        // Enter valid details
-        firstNameField.sendKeys(firstName);
-        lastNameField.sendKeys(lastName);
-        emailField.sendKeys(emailAddress);
-        passwordField.sendKeys(password);
-        confirmPasswordField.sendKeys(password);
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("register.firstName", firstName);
+        fields.put("register.lastName", lastName);
+        fields.put("register.email", emailAddress);
+        fields.put("register.password", password);
+        fields.put("register.confirmPassword", password);
+        helper.fillForm(fields);
 
         // Step 3: Click the "Register" button
         helper.realisticDelay();
-        registerButton.click();
+        helper.waitForClickable(helper.getByLocator("register.button")).click();
         logger.info("Clicking 'Register' button.");
     }
 
+    /**
+     * Leases a pooled customer account for this test (released in tearDown). Accounts that could not be
+     * registered over HTTP are registered through the UI here.
+     */
+    public AccountPool.Account leaseAccount() throws InterruptedException {
+        AccountPool.Account account = AccountPool.lease();
+        if (!account.isRegistered()) {
+            register(account.getFirstName(), account.getLastName(), account.getEmail(), account.getPassword());
+            helper.waitForVisibility(helper.getByLocator("register.successMessage"));
+            AccountPool.markRegistered(account);
+        }
+        return account;
+    }
+
     public void addProductToCart(String productUrl, String productId) throws InterruptedException {
         SeleniumHelper help = new SeleniumHelper(driver);
 
@@ -136,6 +176,31 @@ public class MainFunctionalities extends BaseTest {
         logger.info("Product successfully added to cart.");
     }
 
+    /**
+     * Puts products in the cart as a test precondition. With {@code api.setup.enabled} the items are posted over
+     * HTTP in the browser's session and the current page is reloaded once to show them; otherwise each product
+     * goes through {@link #addProductToCart(String, String)}.
+     */
+    public void prepareCart(String[] productUrls, String[] productIds) throws InterruptedException {
+        if (!API_SETUP) {
+            for (int i = 0; i < productIds.length; i++) {
+                addProductToCart(productUrls[i], productIds[i]);
+            }
+            return;
+        }
+
+        APIHelper api = new APIHelper(driver);
+        for (String productId : productIds) {
+            api.addToCart(productId, 1);
+        }
+        driver.navigate().refresh();
+        logger.info("Cart prepared over HTTP with " + productIds.length + " product(s).");
+    }
+
+    public void prepareCart(String productUrl, String productId) throws InterruptedException {
+        prepareCart(new String[]{productUrl}, new String[]{productId});
+    }
+
     public void removeProductFromCart(String productId) throws InterruptedException {
         SeleniumHelper help = new SeleniumHelper(driver);
 
@@ -309,23 +374,8 @@ public class MainFunctionalities extends BaseTest {
         logger.info("Checkout page loaded successfully.");
 
         // Step 3: Fill personal details
-        driver.findElement(helper.getByLocator("checkout.firstName")).sendKeys(details[0]);
-        driver.findElement(helper.getByLocator("checkout.lastName")).sendKeys(details[1]);
-
-        // Select country
-        Select countryDropdown = new Select(driver.findElement(helper.getByLocator("checkout.countryDropdown")));
-        countryDropdown.selectByVisibleText(details[3]);
-
-        // Select the state
-        helper.realisticDelay();
-        Select stateDropdown = new Select(driver.findElement(helper.getByLocator("checkout.stateDropdown")));
-        stateDropdown.selectByVisibleText(details[4]);
-
-        // Fill address details
-        driver.findElement(helper.getByLocator("checkout.city")).sendKeys(details[5]);
-        driver.findElement(helper.getByLocator("checkout.address")).sendKeys(details[6]);
-        driver.findElement(helper.getByLocator("checkout.zipCode")).sendKeys(details[7]);
-        driver.findElement(helper.getByLocator("checkout.phoneNumber")).sendKeys(details[8]);
+        // Names, country -> state (reloaded by AJAX) and address in one scripted call
+        helper.fillForm(billingAddress(details, false));
 
         // Select "Ship to the same address" checkbox
         WebElement shipToSameAddressCheckbox = driver.findElement(helper.getByLocator("checkout.shipToSameAddress"));
@@ -357,6 +407,7 @@ public class MainFunctionalities extends BaseTest {
         WebElement orderSuccessMessage = helper.waitForVisibility(helper.getByLocator("order.successMessage"));
         Assert.assertTrue(orderSuccessMessage.getText().contains("Your order has been successfully processed!"), "Order not successful!");
         logger.info("Order placed successfully!");
+        ScreenshotStore.step("Order placed");
     }
 
     public void checkoutAsGuest(String[] details) throws InterruptedException {
@@ -387,24 +438,8 @@ public class MainFunctionalities extends BaseTest {
         helper.realisticDelay();
 
         // Fill billing details
-        driver.findElement(helper.getByLocator("checkout.firstName")).sendKeys(details[0]);
-        driver.findElement(helper.getByLocator("checkout.lastName")).sendKeys(details[1]);
-        driver.findElement(helper.getByLocator("checkout.email")).sendKeys(details[2]);
-
-        // Select country
-        Select countryDropdown = new Select(driver.findElement(helper.getByLocator("checkout.countryDropdown")));
-        countryDropdown.selectByVisibleText(details[3]);
-
-        // Select the state
-        helper.realisticDelay();
-        Select stateDropdown = new Select(driver.findElement(helper.getByLocator("checkout.stateDropdown")));
-        stateDropdown.selectByVisibleText(details[4]);
-
-        // Fill address details
-        driver.findElement(helper.getByLocator("checkout.city")).sendKeys(details[5]);
-        driver.findElement(helper.getByLocator("checkout.address")).sendKeys(details[6]);
-        driver.findElement(helper.getByLocator("checkout.zipCode")).sendKeys(details[7]);
-        driver.findElement(helper.getByLocator("checkout.phoneNumber")).sendKeys(details[8]);
+        // Names, country -> state (reloaded by AJAX) and address in one scripted call
+        helper.fillForm(billingAddress(details, true));
 
         // Select "Ship to the same address" checkbox
         WebElement shipToSameAddressCheckbox = driver.findElement(helper.getByLocator("checkout.shipToSameAddress"));
@@ -431,19 +466,38 @@ public class MainFunctionalities extends BaseTest {
         logger.info("Payment method selected.");
 
         // Step 6: Enter payment details
-        driver.findElement(helper.getByLocator("payment.cardholderName")).sendKeys(details[9]);
-        driver.findElement(helper.getByLocator("payment.cardNumber")).sendKeys(details[10]);
-
-        Select expMonth = new Select(driver.findElement(helper.getByLocator("payment.expireMonth")));
-        expMonth.selectByVisibleText(details[11]);
-
-        Select expYear = new Select(driver.findElement(helper.getByLocator("payment.expireYear")));
-        expYear.selectByVisibleText(details[12]);
-
-        driver.findElement(helper.getByLocator("payment.cardCode")).sendKeys(details[13]);
+        helper.fillForm(paymentCard(details[9], details[10], details[11], details[12], details[13]));
 
         driver.findElement(helper.getByLocator("payment.infoContinueButton")).click();
         logger.info("Payment details entered.");
+        ScreenshotStore.step("Payment details entered");
+    }
+
+    // Billing form fields in fill order; the state list is only complete once the country change has reloaded it
+    private Map<String, String> billingAddress(String[] details, boolean withEmail) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("checkout.firstName", details[0]);
+        fields.put("checkout.lastName", details[1]);
+        if (withEmail) {
+            fields.put("checkout.email", details[2]);
+        }
+        fields.put("checkout.countryDropdown", details[3]);
+        fields.put("checkout.stateDropdown", details[4]);
+        fields.put("checkout.city", details[5]);
+        fields.put("checkout.address", details[6]);
+        fields.put("checkout.zipCode", details[7]);
+        fields.put("checkout.phoneNumber", details[8]);
+        return fields;
+    }
+
+    private Map<String, String> paymentCard(String name, String card, String month, String year, String cardCode) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("payment.cardholderName", name);
+        fields.put("payment.cardNumber", card);
+        fields.put("payment.expireMonth", month);
+        fields.put("payment.expireYear", year);
+        fields.put("payment.cardCode", cardCode);
+        return fields;
     }
 
     public void verifyProductDetails(String[] orderDetails){
@@ -510,24 +564,8 @@ public class MainFunctionalities extends BaseTest {
 
         // Step 4: Enter incorrect billing details
         helper.realisticDelay();
-        helper.waitForVisibility(helper.getByLocator("checkout.firstName")).sendKeys(details[0]);
-        driver.findElement(helper.getByLocator("checkout.lastName")).sendKeys(details[1]);
-        driver.findElement(helper.getByLocator("checkout.email")).sendKeys(details[2]);
-
-        // Select an invalid country (or skip selection)
-        Select countryDropdown = new Select(driver.findElement(helper.getByLocator("checkout.countryDropdown")));
-        countryDropdown.selectByVisibleText(details[3]);
-
-        // Select the state
-        helper.realisticDelay();
-        Select stateDropdown = new Select(driver.findElement(helper.getByLocator("checkout.stateDropdown")));
-        stateDropdown.selectByVisibleText(details[4]);
-
-        // Enter incomplete address
-        driver.findElement(helper.getByLocator("checkout.city")).sendKeys(details[5]);
-        driver.findElement(helper.getByLocator("checkout.address")).sendKeys(details[6]);
-        driver.findElement(helper.getByLocator("checkout.zipCode")).sendKeys(details[7]);
-        driver.findElement(helper.getByLocator("checkout.phoneNumber")).sendKeys(details[8]);
+        // Names, country -> state (reloaded by AJAX) and address in one scripted call
+        helper.fillForm(billingAddress(details, true));
 
         // Click continue
         helper.realisticDelay();
@@ -536,7 +574,7 @@ public class MainFunctionalities extends BaseTest {
 
         try {
             // Wait for the alert to appear (within 5 seconds)
-            WebDriverWait waitAlert = new WebDriverWait(driver, Duration.ofSeconds(5));
+            WebDriverWait waitAlert = SeleniumHelper.waitFor(driver, 5);
             waitAlert.until(ExpectedConditions.alertIsPresent());
 
             // Switch to alert
@@ -595,24 +633,8 @@ public class MainFunctionalities extends BaseTest {
         helper.realisticDelay();
 
         // Fill billing details
-        driver.findElement(helper.getByLocator("checkout.firstName")).sendKeys(details[0]);
-        driver.findElement(helper.getByLocator("checkout.lastName")).sendKeys(details[1]);
-        driver.findElement(helper.getByLocator("checkout.email")).sendKeys(details[2]);
-
-        // Select country
-        Select countryDropdown = new Select(driver.findElement(helper.getByLocator("checkout.countryDropdown")));
-        countryDropdown.selectByVisibleText(details[3]);
-
-        // Select the state
-        helper.realisticDelay();
-        Select stateDropdown = new Select(driver.findElement(helper.getByLocator("checkout.stateDropdown")));
-        stateDropdown.selectByVisibleText(details[4]);
-
-        // Fill address details
-        driver.findElement(helper.getByLocator("checkout.city")).sendKeys(details[5]);
-        driver.findElement(helper.getByLocator("checkout.address")).sendKeys(details[6]);
-        driver.findElement(helper.getByLocator("checkout.zipCode")).sendKeys(details[7]);
-        driver.findElement(helper.getByLocator("checkout.phoneNumber")).sendKeys(details[8]);
+        // Names, country -> state (reloaded by AJAX) and address in one scripted call
+        helper.fillForm(billingAddress(details, true));
 
         // Select "Ship to the same address" checkbox
         WebElement shipToSameAddressCheckbox = driver.findElement(helper.getByLocator("checkout.shipToSameAddress"));
@@ -747,16 +769,7 @@ public class MainFunctionalities extends BaseTest {
         System.out.println("Payment method selected.");
 
         // Step 2: Enter payment details
-        driver.findElement(helper.getByLocator("payment.cardholderName")).sendKeys(name);
-        driver.findElement(helper.getByLocator("payment.cardNumber")).sendKeys(card);
-
-        Select expMonth = new Select(driver.findElement(helper.getByLocator("payment.expireMonth")));
-        expMonth.selectByVisibleText(month);
-
-        Select expYear = new Select(driver.findElement(helper.getByLocator("payment.expireYear")));
-        expYear.selectByVisibleText(year);
-
-        driver.findElement(helper.getByLocator("payment.cardCode")).sendKeys(cardNumber);  // Invalid card code
+        helper.fillForm(paymentCard(name, card, month, year, cardNumber));
 
         helper.realisticDelay();
         driver.findElement(helper.getByLocator("payment.infoContinueButton")).click();
@@ -764,7 +777,7 @@ public class MainFunctionalities extends BaseTest {
     }
 
     public void selectProductOptions(Map<String, String> options) throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 20);
         JavascriptExecutor js = (JavascriptExecutor) driver;
         SeleniumHelper helper = new SeleniumHelper(driver);
 
@@ -796,7 +809,7 @@ public class MainFunctionalities extends BaseTest {
     }
 
     public void searchProduct(String searchTerm) throws InterruptedException {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+        WebDriverWait wait = SeleniumHelper.waitFor(driver, 5);
         SeleniumHelper helper = new SeleniumHelper(driver);
 
         logger.info("Searching for product: " + searchTerm);
@@ -825,13 +838,20 @@ public class MainFunctionalities extends BaseTest {
     public void checkSorting(List<WebElement> products, String sortingType) {
         List<String> extractedValues = new ArrayList<>();
 
-        for (WebElement product : products) {
+        // Read every price and title in one round trip
+        Map<String, By> fields = new LinkedHashMap<>();
+        fields.put("price", helper.getByLocator("sorting.priceSelector"));
+        fields.put("title", helper.getByLocator("sorting.titleSelector"));
+
+        for (DomRecord product : helper.extract(products, fields)) {
             if (sortingType.contains("Price")) {
-                String priceText = product.findElement(helper.getByLocator("sorting.priceSelector")).getText();
+                String priceText = product.text("price");
+                Assert.assertNotNull(priceText, "A product has no price displayed!");
                 double price = Double.parseDouble(priceText.replaceAll("[^0-9.]", ""));
                 extractedValues.add(String.valueOf(price));
             } else { // Name sorting
-                String productName = product.findElement(helper.getByLocator("sorting.titleSelector")).getText();
+                String productName = product.text("title");
+                Assert.assertNotNull(productName, "A product has no title displayed!");
                 extractedValues.add(productName);
             }
         }
@@ -852,22 +872,23 @@ public class MainFunctionalities extends BaseTest {
     }
 
     public boolean isPaginationAvailable() {
-        List<WebElement> paginationControls = driver.findElements(By.cssSelector(".pager .page-item"));
-        return !paginationControls.isEmpty();
+        return helper.isElementPresent(By.cssSelector(".pager .page-item"));
     }
 
     public void navigateToNextPage(WebDriverWait wait, SeleniumHelper helper) throws InterruptedException {
+        WebElement productGrid = driver.findElement(By.cssSelector(".product-grid"));
         WebElement nextPageButton = driver.findElement(By.cssSelector(".pager .next-page"));
         nextPageButton.click();
         helper.realisticDelay();
-        wait.until(ExpectedConditions.stalenessOf(driver.findElement(By.cssSelector(".product-grid"))));
+        helper.waitForStaleness(productGrid);
     }
 
     public void navigateToPreviousPage(WebDriverWait wait, SeleniumHelper helper) throws InterruptedException {
+        WebElement productGrid = driver.findElement(By.cssSelector(".product-grid"));
         WebElement previousPageButton = driver.findElement(By.cssSelector(".pager .previous-page"));
         previousPageButton.click();
         helper.realisticDelay();
-        wait.until(ExpectedConditions.stalenessOf(driver.findElement(By.cssSelector(".product-grid"))));
+        helper.waitForStaleness(productGrid);
     }
 
     public List<WebElement> getSearchResults() {
@@ -881,18 +902,18 @@ public class MainFunctionalities extends BaseTest {
         WebElement relatedProductsSection = helper.waitForVisibility(helper.getByLocator("search.productGrid"));
         Assert.assertTrue(relatedProductsSection.isDisplayed(), "Related products section is NOT displayed!");
 
-        // Verify that at least one related product is present
-        List<WebElement> relatedProducts = relatedProductsSection.findElements(helper.getByLocator("search.productBox"));
+        // Verify that at least one related product is present (boxes and titles read in one round trip)
+        List<DomRecord> relatedProducts = helper.extract(relatedProductsSection, helper.getByLocator("search.productBox"),
+                Map.of("title", helper.getByLocator("search.productTitle")));
         Assert.assertFalse(relatedProducts.isEmpty(), "No related products found!");
 
         // Log the related products found
         logger.info("Number of related products displayed: " + relatedProducts.size());
 
         // Verify each related product has a title
-        for (WebElement product : relatedProducts) {
-            WebElement productTitle = product.findElement(helper.getByLocator("search.productTitle"));
-            Assert.assertTrue(productTitle.isDisplayed(), "A related product does not have a title displayed!");
-            logger.info("Related Product Found: " + productTitle.getText());
+        for (DomRecord product : relatedProducts) {
+            Assert.assertTrue(product.isDisplayed("title"), "A related product does not have a title displayed!");
+            logger.info("Related Product Found: " + product.text("title"));
         }
     }
 
@@ -935,36 +956,35 @@ public class MainFunctionalities extends BaseTest {
         WebElement reviewsSection = helper.waitForVisibility(helper.getByLocator("reviews.list"));
         Assert.assertTrue(reviewsSection.isDisplayed(), "Reviews section is not displayed!");
 
-        // Find all review items
-        List<WebElement> reviewItems = driver.findElements(helper.getByLocator("reviews.item"));
+        // Read all review items with their fields in one round trip
+        Map<String, By> fields = new LinkedHashMap<>();
+        fields.put("title", helper.getByLocator("reviews.title"));
+        fields.put("rating", helper.getByLocator("reviews.ratings"));
+        fields.put("text", helper.getByLocator("reviews.text"));
+        fields.put("user", helper.getByLocator("reviews.user"));
+        fields.put("date", helper.getByLocator("reviews.data"));
+
+        List<DomRecord> reviewItems = helper.extract(helper.getByLocator("reviews.item"), fields);
         Assert.assertFalse(reviewItems.isEmpty(), "No reviews found!");
 
-        for (WebElement review : reviewItems) {
+        for (DomRecord review : reviewItems) {
             // Verify review title
-            WebElement reviewTitle = review.findElement(helper.getByLocator("reviews.title"));
-            Assert.assertTrue(reviewTitle.isDisplayed(), "Review title is not displayed!");
+            Assert.assertTrue(review.isDisplayed("title"), "Review title is not displayed!");
 
             // Verify review rating
-            WebElement rating = review.findElement(helper.getByLocator("reviews.ratings"));
-            Assert.assertTrue(rating.isDisplayed(), "Review rating is not displayed!");
+            Assert.assertTrue(review.isDisplayed("rating"), "Review rating is not displayed!");
 
             // Verify review content
-            WebElement reviewContent = review.findElement(helper.getByLocator("reviews.text"));
-            Assert.assertTrue(reviewContent.isDisplayed(), "Review content is not displayed!");
+            Assert.assertTrue(review.isDisplayed("text"), "Review content is not displayed!");
 
             // Verify reviewer name and date
-            WebElement reviewerName = review.findElement(helper.getByLocator("reviews.user"));
-            WebElement reviewDate = review.findElement(helper.getByLocator("reviews.data"));
-            Assert.assertTrue(reviewerName.isDisplayed(), "Reviewer name is not displayed!");
-            Assert.assertTrue(reviewDate.isDisplayed(), "Review date is not displayed!");
+            Assert.assertTrue(review.isDisplayed("user"), "Reviewer name is not displayed!");
+            Assert.assertTrue(review.isDisplayed("date"), "Review date is not displayed!");
         }
 
         // Verify the Helpful Vote options (Yes/No)
-        List<WebElement> helpfulVoteYes = driver.findElements(helper.getByLocator("reviews.voteYes"));
-        List<WebElement> helpfulVoteNo = driver.findElements(helper.getByLocator("reviews.voteNo"));
-
-        Assert.assertFalse(helpfulVoteYes.isEmpty(), "'Yes' vote option is not displayed!");
-        Assert.assertFalse(helpfulVoteNo.isEmpty(), "'No' vote option is not displayed!");
+        Assert.assertTrue(helper.isElementPresent(helper.getByLocator("reviews.voteYes")), "'Yes' vote option is not displayed!");
+        Assert.assertTrue(helper.isElementPresent(helper.getByLocator("reviews.voteNo")), "'No' vote option is not displayed!");
 
         logger.info("Product reviews are displayed and verified successfully.");
     }
@@ -1012,6 +1032,25 @@ public class MainFunctionalities extends BaseTest {
         helper.realisticDelay();
     }
 
+    /**
+     * Puts products in the compare list as a test precondition. With {@code api.setup.enabled} they are posted over
+     * HTTP in the browser's session; otherwise each product goes through {@link #addProductToCompareList(String)}.
+     */
+    public void prepareCompareList(String[] productUrls, String[] productIds) throws InterruptedException {
+        if (!API_SETUP) {
+            for (String productUrl : productUrls) {
+                addProductToCompareList(productUrl);
+            }
+            return;
+        }
+
+        APIHelper api = new APIHelper(driver);
+        for (String productId : productIds) {
+            api.addToCompareList(productId);
+        }
+        logger.info("Compare list prepared over HTTP with " + productIds.length + " product(s).");
+    }
+
     public void verifyCompareList(List<String> expectedProducts) throws InterruptedException {
         logger.info("Navigating to Compare Products list.");
         driver.get("https://demo.nopcommerce.com/compareproducts");
@@ -1023,12 +1062,8 @@ public class MainFunctionalities extends BaseTest {
         WebElement compareTitle = helper.waitForVisibility(helper.getByLocator("page.title"));
         Assert.assertEquals(compareTitle.getText(), "Compare products", "Compare page title is incorrect!");
 
-        // Get compared products
-        List<WebElement> comparedProducts = driver.findElements(helper.getByLocator("compare.firstProd"));
-
-        List<String> productNames = comparedProducts.stream()
-                .map(e -> e.getText().trim())
-                .collect(Collectors.toList());
+        // Get compared product names in one round trip
+        List<String> productNames = helper.extractTexts(helper.getByLocator("compare.firstProd"));
 
         logger.info("Extracted Products: " + productNames);
 
@@ -1048,7 +1083,7 @@ public class MainFunctionalities extends BaseTest {
         ((JavascriptExecutor) driver).executeScript("window.scrollTo(0, document.body.scrollHeight);");
         helper.realisticDelay();
 
-        // Locate social media share buttons
+        // Locate social media share buttons (one query answers both presence and the list, no wait)
         List<WebElement> shareButtons = driver.findElements(helper.getByLocator("social.button"));
         if (shareButtons.isEmpty()) {
             logger.warn("No social media share buttons found! Skipping test but marking as passed.");
@@ -0,0 +1,124 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Opens a catalog or search results page directly in the state a test needs (term, sort order, page, page size,
+ * manufacturer filter) with one {@code driver.get}, using the query parameters the storefront itself puts in
+ * the URL, instead of typing and clicking through the menus, sort dropdown, filters and pager.
+ * <pre>
+ *     Navigation.search("Computer").orderBy(Navigation.SortOrder.PRICE_LOW_TO_HIGH).open(driver);
+ *     Navigation.category("notebooks").manufacturers(2).page(2).open(driver);
+ * </pre>
+ */
+public class Navigation {
+    private static final Logger logger = LogManager.getLogger(Navigation.class);
+
+    private static final String MANUFACTURER_PARAM = ConfigReader.getProperty("nav.param.manufacturer", "ms");
+
+    // The storefront's "orderby" values, with the text the sort dropdown shows for them
+    public enum SortOrder {
+        POSITION(0, "Position"),
+        NAME_A_TO_Z(5, "Name: A to Z"),
+        NAME_Z_TO_A(6, "Name: Z to A"),
+        PRICE_LOW_TO_HIGH(10, "Price: Low to High"),
+        PRICE_HIGH_TO_LOW(11, "Price: High to Low"),
+        CREATED_ON(15, "Created on");
+
+        private final int value;
+        private final String label;
+
+        SortOrder(int value, String label) {
+            this.value = value;
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static SortOrder fromLabel(String label) {
+            for (SortOrder order : values()) {
+                if (order.label.equalsIgnoreCase(label.trim())) return order;
+            }
+            throw new RuntimeException("Unknown sort option: " + label);
+        }
+    }
+
+    private final String path;
+    private final Map<String, String> params = new LinkedHashMap<>();
+
+    private Navigation(String path) {
+        this.path = path;
+    }
+
+    // Search results for a term (/search?q=...)
+    public static Navigation search(String term) {
+        return new Navigation("search").param("q", term);
+    }
+
+    // Category or manufacturer listing by its URL name, e.g. "notebooks"
+    public static Navigation category(String slug) {
+        return new Navigation(slug.replaceAll("^/+", ""));
+    }
+
+    public Navigation orderBy(SortOrder order) {
+        return param("orderby", String.valueOf(order.value));
+    }
+
+    // 1-based page number
+    public Navigation page(int pageNumber) {
+        return param("pagenumber", String.valueOf(pageNumber));
+    }
+
+    // Only honoured where the store lets customers choose the page size
+    public Navigation pageSize(int pageSize) {
+        return param("pagesize", String.valueOf(pageSize));
+    }
+
+    // Manufacturer ids as in the filter checkboxes (attribute-manufacturer-<id>)
+    public Navigation manufacturers(int... manufacturerIds) {
+        return param(MANUFACTURER_PARAM, Arrays.stream(manufacturerIds).mapToObj(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    public Navigation param(String name, String value) {
+        params.put(name, value);
+        return this;
+    }
+
+    public String toUrl() {
+        String base = ConfigReader.getProperty("baseURL", "https://demo.nopcommerce.com/").replaceAll("/+$", "");
+        String query = params.entrySet().stream()
+                .map(e -> encode(e.getKey()) + "=" + encode(e.getValue()))
+                .collect(Collectors.joining("&"));
+        return base + "/" + path + (query.isEmpty() ? "" : "?" + query);
+    }
+
+    /**
+     * Loads the page and waits for its title, i.e. for the listing or the "no results" message to be rendered.
+     */
+    public void open(WebDriver driver) {
+        String target = toUrl();
+        driver.get(target);
+        logger.info("🧭 Opened " + target);
+        new SeleniumHelper(driver).waitForVisibility(LocatorRegistry.get("category.pageTitle"));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return toUrl();
+    }
+}
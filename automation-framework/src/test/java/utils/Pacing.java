@@ -0,0 +1,161 @@
+package utils;
+
+import base.BaseTest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides how long the "human" pauses between steps actually last (SeleniumHelper.realisticDelay / randomDelay).
+ * <p>
+ * Policy is chosen with {@code pacing.policy}:
+ * <ul>
+ *     <li>none - no pauses at all (CI)</li>
+ *     <li>fixed - always the configured minimum of the range</li>
+ *     <li>human - log-normal pauses centred in the range, clamped to its bounds</li>
+ *     <li>adaptive - no pauses until the site rate-limits or challenges, then human pauses for a cooldown window</li>
+ * </ul>
+ * Every pause is accounted per test thread and for the whole run.
+ */
+public class Pacing {
+    private static final Logger logger = LogManager.getLogger(Pacing.class);
+
+    public enum Policy { NONE, FIXED, HUMAN, ADAPTIVE }
+
+    // A short pause between two actions and a long "reading the page" pause
+    public enum Pause {
+        SHORT("pacing.short", 1000, 3000),
+        LONG("pacing.long", 7000, 12000);
+
+        final int minMillis;
+        final int maxMillis;
+
+        Pause(String prefix, int defaultMin, int defaultMax) {
+            this.minMillis = ConfigReader.getIntProperty(prefix + ".minMillis", defaultMin);
+            this.maxMillis = Math.max(minMillis, ConfigReader.getIntProperty(prefix + ".maxMillis", defaultMax));
+        }
+    }
+
+    private static final Policy POLICY = parsePolicy(ConfigReader.getProperty("pacing.policy", "human"));
+    private static final long COOLDOWN_MILLIS = ConfigReader.getIntProperty("pacing.adaptive.cooldownSeconds", 60) * 1000L;
+
+    private static final ThreadLocal<long[]> testSleep = ThreadLocal.withInitial(() -> new long[2]); // {millis, count}
+    private static final AtomicLong totalSleepMillis = new AtomicLong();
+    private static final AtomicLong totalPauses = new AtomicLong();
+    private static final AtomicLong throttleSignals = new AtomicLong();
+    private static volatile long throttledUntil;
+
+    /**
+     * Pauses the calling thread according to the configured policy.
+     *
+     * @param pause Which range to draw the pause from
+     */
+    public static void pause(Pause pause) throws InterruptedException {
+        long millis = durationOf(pause);
+        if (millis <= 0) return;
+
+        Thread.sleep(millis);
+
+        long[] current = testSleep.get();
+        current[0] += millis;
+        current[1]++;
+        totalSleepMillis.addAndGet(millis);
+        totalPauses.incrementAndGet();
+    }
+
+    /**
+     * Tells the adaptive policy that the site pushed back (rate limit, Cloudflare challenge).
+     * Pauses are switched on for {@code pacing.adaptive.cooldownSeconds} from now.
+     */
+    public static void signalThrottled(String reason) {
+        throttleSignals.incrementAndGet();
+        throttledUntil = System.currentTimeMillis() + COOLDOWN_MILLIS;
+        if (POLICY == Policy.ADAPTIVE) {
+            logger.warn("🐢 Site is throttling (" + reason + "), pacing enabled for " + COOLDOWN_MILLIS / 1000 + "s.");
+        }
+    }
+
+    private static long durationOf(Pause pause) {
+        switch (POLICY) {
+            case NONE:
+                return 0;
+            case FIXED:
+                return pause.minMillis;
+            case ADAPTIVE:
+                return isThrottled() ? humanDuration(pause) : 0;
+            case HUMAN:
+            default:
+                return humanDuration(pause);
+        }
+    }
+
+    // Log-normal: mostly near the middle of the range with an occasional longer pause, never outside it
+    private static long humanDuration(Pause pause) {
+        double median = (pause.minMillis + pause.maxMillis) / 2.0;
+        double sample = median * Math.exp(0.35 * ThreadLocalRandom.current().nextGaussian());
+        return Math.round(Math.max(pause.minMillis, Math.min(pause.maxMillis, sample)));
+    }
+
+    private static boolean isThrottled() {
+        if (System.currentTimeMillis() < throttledUntil) return true;
+
+        // Cheap check of the page the test is on: one title read, no waits
+        WebDriver driver = BaseTest.getDriver();
+        if (driver == null) return false;
+        try {
+            String title = String.valueOf(driver.getTitle()).toLowerCase(Locale.ROOT);
+            if (title.contains("just a moment") || title.contains("too many requests") || title.contains("attention required")) {
+                signalThrottled("page title: " + title);
+                return true;
+            }
+        } catch (Exception ignored) {
+            // A title we cannot read is not a reason to slow down
+        }
+        return false;
+    }
+
+    private static Policy parsePolicy(String value) {
+        try {
+            return Policy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: Unknown pacing.policy '" + value + "', using human.");
+            return Policy.HUMAN;
+        }
+    }
+
+    // Called at the start of every test so the counters below cover that test only
+    public static void resetTestSleep() {
+        long[] current = testSleep.get();
+        current[0] = 0;
+        current[1] = 0;
+    }
+
+    public static long getTestSleepMillis() {
+        return testSleep.get()[0];
+    }
+
+    public static long getTestPauses() {
+        return testSleep.get()[1];
+    }
+
+    public static Policy getPolicy() {
+        return POLICY;
+    }
+
+    public static long getTotalSleepMillis() {
+        return totalSleepMillis.get();
+    }
+
+    public static long getTotalPauses() {
+        return totalPauses.get();
+    }
+
+    public static long getThrottleSignals() {
+        return throttleSignals.get();
+    }
+}
@@ -3,18 +3,186 @@ package utils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class SeleniumHelper {
+    private static final long DEFAULT_TIMEOUT_SECONDS = ConfigReader.getIntProperty("wait.timeoutSeconds", 10);
+
+    // Reusable waits per driver and timeout; WaitEngine holds no per-call state
+    private static final Map<WebDriver, Map<Long, WaitEngine>> waits = new ConcurrentHashMap<>();
+
+    // Resolves a W3C locator ({using, value}) against a document or element, shared by the in-page scripts
+    private static final String FIND_ALL_FUNCTION =
+            "function findAll(context, locator) {" +
+            "  var using = locator.using, value = locator.value;" +
+            "  if (using === 'css selector') return Array.prototype.slice.call(context.querySelectorAll(value));" +
+            "  if (using === 'tag name') return Array.prototype.slice.call(context.getElementsByTagName(value));" +
+            "  if (using === 'xpath') {" +
+            "    var snapshot = document.evaluate(value, context, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), found = [];" +
+            "    for (var i = 0; i < snapshot.snapshotLength; i++) found.push(snapshot.snapshotItem(i));" +
+            "    return found;" +
+            "  }" +
+            "  if (using === 'link text' || using === 'partial link text') {" +
+            "    return Array.prototype.slice.call(context.querySelectorAll('a')).filter(function (a) {" +
+            "      var text = (a.innerText || '').trim();" +
+            "      return using === 'link text' ? text === value : text.indexOf(value) >= 0;" +
+            "    });" +
+            "  }" +
+            "  throw new Error('Unsupported locator strategy: ' + using);" +
+            "}";
+
+    // Same visibility rule as WebElement.isDisplayed, close enough for waits and bulk reads
+    private static final String VISIBLE_FUNCTION =
+            "function visible(element) {" +
+            "  if (element.checkVisibility) return element.checkVisibility({opacityProperty: true, visibilityProperty: true});" +
+            "  var style = window.getComputedStyle(element);" +
+            "  return style.visibility !== 'hidden' && style.display !== 'none' && element.getClientRects().length > 0;" +
+            "}";
+
+    private static final boolean IN_PAGE_WAITS = ConfigReader.getBooleanProperty("wait.inPage", true);
+
+    // Stay below the session script timeout set by DriverPool, so the script itself never times out
+    private static final long MAX_IN_PAGE_MILLIS = Math.max(1000, ConfigReader.getIntProperty("wait.scriptTimeoutSeconds", 60) * 1000L - 1000);
+
+    // How long FILL_SCRIPT waits for a select's options to load (country -> state)
+    private static final long OPTION_TIMEOUT_MILLIS = ConfigReader.getIntProperty("form.optionTimeoutMillis", 10000);
+
+    // In-page wait used by awaitInPage
+    private static final String AWAIT_SCRIPT = FIND_ALL_FUNCTION + VISIBLE_FUNCTION +
+            "var condition = arguments[0], locator = arguments[1], target = arguments[2], extra = arguments[3];" +
+            "var timeout = arguments[4], done = arguments[arguments.length - 1];" +
+            "function evaluate() {" +
+            "  if (condition === 'stale') return !target.isConnected;" +
+            "  if (condition === 'attributeContains') {" +
+            "    var value = target.getAttribute(extra[0]);" +
+            "    return value !== null && value.indexOf(extra[1]) >= 0;" +
+            "  }" +
+            "  var element = findAll(document, locator)[0];" +
+            "  if (condition === 'absent') return !element;" +
+            "  if (!element) return null;" +
+            "  if (condition === 'present') return element;" +
+            "  if (!visible(element)) return null;" +
+            "  if (condition === 'clickable' && element.disabled) return null;" +
+            "  return element;" +
+            "}" +
+            "var first = evaluate();" +
+            "if (first) { done(first); return; }" +
+            "var finished = false;" +
+            "function finish(result) {" +
+            "  if (finished) return;" +
+            "  finished = true; observer.disconnect(); clearInterval(timer); clearTimeout(expiry); done(result);" +
+            "}" +
+            "function check() {" +
+            "  var result = null;" +
+            "  try { result = evaluate(); } catch (e) { result = null; }" +
+            "  if (result) finish(result);" +
+            "}" +
+            "var observer = new MutationObserver(check);" +
+            "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "var timer = setInterval(check, 100);" +
+            "var expiry = setTimeout(function () { finish(null); }, timeout);";
+
+    // Bulk read used by extract
+    private static final String EXTRACT_SCRIPT = FIND_ALL_FUNCTION + VISIBLE_FUNCTION +
+            "var root = arguments[0] || document, containers = arguments[1], container = arguments[2];" +
+            "var fields = arguments[3], attributes = arguments[4];" +
+            "function describe(element) {" +
+            "  if (!element) return null;" +
+            "  var data = {text: (element.innerText || element.textContent || '').trim(), displayed: visible(element), attributes: {}};" +
+            "  attributes.forEach(function (name) { data.attributes[name] = element.getAttribute(name); });" +
+            "  return data;" +
+            "}" +
+            "var items = containers || findAll(root, container);" +
+            "return items.map(function (item) {" +
+            "  var record = {self: describe(item), fields: {}};" +
+            "  Object.keys(fields).forEach(function (name) { record.fields[name] = describe(findAll(item, fields[name])[0]); });" +
+            "  return record;" +
+            "});";
+
+    // Batched form fill used by fillForm
+    private static final String FILL_SCRIPT = FIND_ALL_FUNCTION +
+            "var fields = arguments[0], optionTimeout = arguments[1], done = arguments[arguments.length - 1];" +
+            "var errors = [], index = 0;" +
+            "function fire(element, type) { element.dispatchEvent(new Event(type, {bubbles: true})); }" +
+            "function setValue(element, value) {" +
+            "  var prototype = element instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+            "  Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, value);" +
+            "}" +
+            "function findOption(select, text) {" +
+            "  return Array.prototype.find.call(select.options, function (option) {" +
+            "    return option.text.trim() === text || option.value === text;" +
+            "  });" +
+            "}" +
+            "function next() {" +
+            "  if (index >= fields.length) { done(errors); return; }" +
+            "  var field = fields[index++], element = findAll(document, field.locator)[0];" +
+            "  if (!element) { errors.push(field.key + ': element not found'); next(); return; }" +
+            "  if (element.tagName === 'SELECT') {" +
+            "    var started = Date.now();" +
+            "    (function pick() {" +
+            "      var option = findOption(element, field.value);" +
+            "      if (option) {" +
+            "        element.value = option.value; fire(element, 'input'); fire(element, 'change');" +
+            "        setTimeout(next, 0); return;" +
+            "      }" +
+            "      if (Date.now() - started > optionTimeout) {" +
+            "        errors.push(field.key + \": option '\" + field.value + \"' not found\"); next(); return;" +
+            "      }" +
+            "      setTimeout(pick, 50);" +
+            "    })();" +
+            "    return;" +
+            "  }" +
+            "  if (element.type === 'checkbox' || element.type === 'radio') {" +
+            "    if (element.checked !== (field.value === 'true')) element.click();" +
+            "    next(); return;" +
+            "  }" +
+            "  element.focus(); setValue(element, field.value);" +
+            "  fire(element, 'input'); fire(element, 'change'); element.blur();" +
+            "  next();" +
+            "}" +
+            "next();";
+
     private WebDriver driver;
-    private WebDriverWait wait;
+    private WaitEngine wait;
 
     public SeleniumHelper(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = waitFor(driver, DEFAULT_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Returns the shared wait for a driver and timeout budget. Use this instead of {@code new WebDriverWait(...)}.
+     *
+     * @param driver         The driver to poll
+     * @param timeoutSeconds Budget for each {@code until} call
+     * @return Cached wait engine
+     */
+    public static WaitEngine waitFor(WebDriver driver, long timeoutSeconds) {
+        return waitForMillis(driver, timeoutSeconds * 1000);
+    }
+
+    public static WaitEngine waitForMillis(WebDriver driver, long timeoutMillis) {
+        return waits.computeIfAbsent(driver, d -> new ConcurrentHashMap<>())
+                .computeIfAbsent(timeoutMillis, t -> new WaitEngine(driver, Duration.ofMillis(t)));
+    }
+
+    public WaitEngine waitFor(long timeoutSeconds) {
+        return waitFor(driver, timeoutSeconds);
+    }
+
+    // Drop cached waits of a driver that has been quit
+    public static void releaseWaits(WebDriver driver) {
+        waits.remove(driver);
     }
 
     /**
@@ -24,27 +192,8 @@ public class SeleniumHelper {
      * @return By object corresponding to the locator
      */
     public static By getByLocator(String key) {
-        String locator = ConfigReader.getProperty(key);
-
-        if (locator == null) {
-            throw new RuntimeException("Locator for key '" + key + "' not found in config.properties.");
-        }
-
-        if (locator.startsWith("id=")) {
-            return By.id(locator.substring(3));
-        } else if (locator.startsWith("css=")) {
-            return By.cssSelector(locator.substring(4));
-        } else if (locator.startsWith("xpath=")) {
-            return By.xpath(locator.substring(6));
-        } else if (locator.startsWith("linkText=")) {
-            return By.linkText(locator.substring(9));
-        } else if (locator.startsWith("name=")) {
-            return By.name(locator.substring(5));
-        } else if (locator.startsWith("className=")) {
-            return By.className(locator.substring(10));
-        } else {
-            throw new RuntimeException("Invalid locator type: " + locator);
-        }
+        // Prebuilt once from config.properties; broken or unknown keys fail here without waiting
+        return LocatorRegistry.get(key);
     }
 
     public static String getProductName(String key) {
@@ -65,13 +214,16 @@ public class SeleniumHelper {
 
     // Wait for the page title to contain a specific text
     public void waitForTitleContains(String title, int timeoutInSeconds) {
-        WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        customWait.until(ExpectedConditions.titleContains(title));
+        waitFor(timeoutInSeconds).until("title contains '" + title + "'", ExpectedConditions.titleContains(title));
     }
 
     public void waitForAttributeToLoad(WebElement element, String attribute, String expectedValue) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        wait.until(ExpectedConditions.attributeContains(element, attribute, expectedValue));
+        if (IN_PAGE_WAITS) {
+            awaitInPage("attributeContains", "attribute " + attribute + " contains '" + expectedValue + "'", null, element,
+                    Arrays.asList(attribute, expectedValue), wait.getTimeout().toMillis());
+            return;
+        }
+        wait.until("attribute " + attribute + " contains '" + expectedValue + "'", ExpectedConditions.attributeContains(element, attribute, expectedValue));
     }
 
     // Get the current page title
@@ -81,22 +233,114 @@ public class SeleniumHelper {
 
     // Wait for an element to be visible
     public WebElement waitForVisibility(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return waitForVisibility(locator, wait.getTimeout().toMillis());
     }
 
     // Wait for an element to be present in the DOM
     public WebElement waitForPresence(By locator) {
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return waitForPresence(locator, wait.getTimeout().toMillis());
     }
 
     // Wait for all elements to be present
     public List<WebElement> waitForAllElementsPresence(By locator) {
-        return wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+        if (IN_PAGE_WAITS) {
+            waitForPresence(locator);
+            return driver.findElements(locator);
+        }
+        return wait.until("presence of all " + locator, ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
     }
 
     // Wait for an element to be clickable
     public WebElement waitForClickable(By locator) {
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return waitForClickable(locator, wait.getTimeout().toMillis());
+    }
+
+    // Same waits with a per-call timeout budget
+    public WebElement waitForVisibility(By locator, int timeoutInSeconds) {
+        return waitForVisibility(locator, timeoutInSeconds * 1000L);
+    }
+
+    public WebElement waitForPresence(By locator, int timeoutInSeconds) {
+        return waitForPresence(locator, timeoutInSeconds * 1000L);
+    }
+
+    public WebElement waitForClickable(By locator, int timeoutInSeconds) {
+        return waitForClickable(locator, timeoutInSeconds * 1000L);
+    }
+
+    private WebElement waitForVisibility(By locator, long timeoutMillis) {
+        if (IN_PAGE_WAITS) {
+            return (WebElement) awaitInPage("visible", "visibility of " + locator, locator, null, null, timeoutMillis);
+        }
+        return waitForMillis(driver, timeoutMillis).until("visibility of " + locator, ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    private WebElement waitForPresence(By locator, long timeoutMillis) {
+        if (IN_PAGE_WAITS) {
+            return (WebElement) awaitInPage("present", "presence of " + locator, locator, null, null, timeoutMillis);
+        }
+        return waitForMillis(driver, timeoutMillis).until("presence of " + locator, ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
+    private WebElement waitForClickable(By locator, long timeoutMillis) {
+        if (IN_PAGE_WAITS) {
+            return (WebElement) awaitInPage("clickable", "clickability of " + locator, locator, null, null, timeoutMillis);
+        }
+        return waitForMillis(driver, timeoutMillis).until("clickability of " + locator, ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    // Wait for an element to be detached from the page, e.g. the old product grid after a page change
+    public void waitForStaleness(WebElement element) {
+        if (IN_PAGE_WAITS) {
+            awaitInPage("stale", "staleness of an element", null, element, null, wait.getTimeout().toMillis());
+            return;
+        }
+        wait.until("staleness of an element", ExpectedConditions.stalenessOf(element));
+    }
+
+    /**
+     * Waits inside the page: one executeAsyncScript call installs a MutationObserver (plus a slow timer for
+     * style-only changes) and returns the moment the condition holds, instead of polling from Java.
+     * The call is repeated only if the page navigates away underneath it.
+     *
+     * @return The matching element for locator conditions, {@code true} for the others
+     * @throws TimeoutException when the condition does not hold within {@code timeoutMillis}
+     */
+    private Object awaitInPage(String condition, String label, By locator, WebElement target, List<String> extra, long timeoutMillis) {
+        Map<String, Object> scriptLocator = locator == null ? null : toScriptLocator(locator);
+        long start = System.nanoTime();
+        long deadline = start + timeoutMillis * 1_000_000;
+
+        while (true) {
+            long remaining = (deadline - System.nanoTime()) / 1_000_000;
+            if (remaining <= 0) {
+                long waited = (System.nanoTime() - start) / 1_000_000;
+                WaitEngine.record(label, waited, timeoutMillis, true);
+                throw new TimeoutException("Expected condition failed: waiting for " + label
+                        + " (tried for " + waited + "ms of a " + timeoutMillis + "ms budget, in page)");
+            }
+
+            try {
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_SCRIPT, condition, scriptLocator,
+                        target, extra == null ? List.of() : extra, Math.min(remaining, MAX_IN_PAGE_MILLIS));
+                if (result != null && !Boolean.FALSE.equals(result)) {
+                    WaitEngine.record(label, (System.nanoTime() - start) / 1_000_000, timeoutMillis, false);
+                    return result;
+                }
+            } catch (StaleElementReferenceException e) {
+                if (!"stale".equals(condition)) throw e;
+                WaitEngine.record(label, (System.nanoTime() - start) / 1_000_000, timeoutMillis, false);
+                return Boolean.TRUE;
+            } catch (JavascriptException | ScriptTimeoutException e) {
+                // The document was unloaded while the script waited: for staleness that is the answer, otherwise retry
+                boolean interrupted = e instanceof ScriptTimeoutException || String.valueOf(e.getMessage()).contains("unloaded");
+                if (!interrupted) throw e;
+                if ("stale".equals(condition)) {
+                    WaitEngine.record(label, (System.nanoTime() - start) / 1_000_000, timeoutMillis, false);
+                    return Boolean.TRUE;
+                }
+            }
+        }
     }
 
     // Click an element
@@ -140,6 +384,124 @@ public class SeleniumHelper {
         js.executeScript(script, args);
     }
 
+    /**
+     * Reads every container matching {@code container} and, for each, the first match of every child field,
+     * in a single executeScript round trip.
+     *
+     * @param container  Locator of the repeated element (review item, product box, ...)
+     * @param fields     Field name -> locator relative to the container
+     * @param attributes Attribute names to read from the container and from every field
+     * @return One record per container, in document order
+     */
+    public List<DomRecord> extract(By container, Map<String, By> fields, String... attributes) {
+        return runExtraction(null, null, container, fields, attributes);
+    }
+
+    // Same, limited to containers inside {@code root}
+    public List<DomRecord> extract(WebElement root, By container, Map<String, By> fields, String... attributes) {
+        return runExtraction(root, null, container, fields, attributes);
+    }
+
+    // Same, for containers the caller already holds (e.g. a product list passed into a verification)
+    public List<DomRecord> extract(List<WebElement> containers, Map<String, By> fields, String... attributes) {
+        return runExtraction(null, containers, null, fields, attributes);
+    }
+
+    // Visible text of every element matching the locator, in one round trip
+    public List<String> extractTexts(By locator) {
+        List<String> texts = new ArrayList<>();
+        for (DomRecord record : extract(locator, Map.of())) {
+            texts.add(record.text());
+        }
+        return texts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DomRecord> runExtraction(WebElement root, List<WebElement> containers, By container,
+                                          Map<String, By> fields, String... attributes) {
+        Map<String, Object> fieldParameters = new LinkedHashMap<>();
+        fields.forEach((name, locator) -> fieldParameters.put(name, toScriptLocator(locator)));
+
+        Object result = ((JavascriptExecutor) driver).executeScript(EXTRACT_SCRIPT, root, containers,
+                container == null ? null : toScriptLocator(container), fieldParameters, Arrays.asList(attributes));
+
+        List<DomRecord> records = new ArrayList<>();
+        if (result instanceof List) {
+            for (Object item : (List<Object>) result) {
+                records.add(new DomRecord((Map<String, Object>) item));
+            }
+        }
+        return records;
+    }
+
+    // The W3C strategy behind a By (By.id/name/className are sent as CSS selectors by Selenium itself)
+    private static Map<String, Object> toScriptLocator(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new RuntimeException("Locator cannot be evaluated in the browser: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return Map.of("using", parameters.using(), "value", String.valueOf(parameters.value()));
+    }
+
+    /**
+     * Fills a form in one asynchronous script call. Fields are filled in map order; inputs get input/change/blur
+     * events, selects are matched by visible text (or value) and fire change, checkboxes take "true"/"false".
+     * A select whose options are reloaded by an earlier change (country -> state) is waited for in the page,
+     * and the call first waits for the first field to become visible.
+     *
+     * @param values    Locator key from config.properties -> value, in fill order (use a LinkedHashMap)
+     * @param typedKeys Keys that must be filled with real keystrokes instead, for tests that target typing
+     */
+    public void fillForm(Map<String, String> values, String... typedKeys) {
+        Set<String> typed = new HashSet<>(Arrays.asList(typedKeys));
+        List<Map<String, Object>> batch = new ArrayList<>();
+
+        // Forms appear as a whole (page load or AJAX checkout step): the first field being visible is enough
+        if (!values.isEmpty()) {
+            waitForVisibility(getByLocator(values.keySet().iterator().next()));
+        }
+
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (typed.contains(entry.getKey())) {
+                runFill(batch);
+                typeInto(entry.getKey(), entry.getValue());
+                continue;
+            }
+            Map<String, Object> field = new HashMap<>();
+            field.put("key", entry.getKey());
+            field.put("locator", toScriptLocator(getByLocator(entry.getKey())));
+            field.put("value", entry.getValue() == null ? "" : entry.getValue());
+            batch.add(field);
+        }
+        runFill(batch);
+    }
+
+    private void runFill(List<Map<String, Object>> batch) {
+        if (batch.isEmpty()) return;
+
+        Object errors = ((JavascriptExecutor) driver).executeAsyncScript(FILL_SCRIPT, new ArrayList<>(batch), OPTION_TIMEOUT_MILLIS);
+        batch.clear();
+        if (errors instanceof List && !((List<?>) errors).isEmpty()) {
+            throw new RuntimeException("Form fill failed: " + errors);
+        }
+    }
+
+    // Keystroke mode: the WebDriver way, one field at a time
+    private void typeInto(String key, String value) {
+        WebElement element = waitForVisibility(getByLocator(key));
+        String type = element.getDomAttribute("type");
+        if ("select".equalsIgnoreCase(element.getTagName())) {
+            new Select(element).selectByVisibleText(value);
+        } else if ("checkbox".equals(type) || "radio".equals(type)) {
+            if (element.isSelected() != Boolean.parseBoolean(value)) {
+                element.click();
+            }
+        } else {
+            element.clear();
+            element.sendKeys(value);
+        }
+    }
+
     // Scroll to an element
     public void scrollToElement(By locator) {
         WebElement element = waitForVisibility(locator);
@@ -151,20 +513,38 @@ public class SeleniumHelper {
         return driver.findElements(locator);
     }
 
-    // Check if an element exists
+    // Check if an element exists: one findElements call, answered at once because the implicit wait is zero
     public boolean isElementPresent(By locator) {
+        return !driver.findElements(locator).isEmpty();
+    }
+
+    // Negative check counterpart of isElementPresent, same single DOM query
+    public boolean isElementAbsent(By locator) {
+        return driver.findElements(locator).isEmpty();
+    }
+
+    /**
+     * Bounded negative check: returns as soon as the element is gone, or false once {@code timeoutMillis} has passed.
+     *
+     * @param locator       Element expected to disappear (or never be there)
+     * @param timeoutMillis Longest time to keep probing
+     * @return true if the element was absent within the time budget
+     */
+    public boolean isAbsentWithin(By locator, long timeoutMillis) {
+        if (isElementAbsent(locator)) return true;
         try {
-            driver.findElement(locator);
-            return true;
-        } catch (NoSuchElementException e) {
+            if (IN_PAGE_WAITS) {
+                return Boolean.TRUE.equals(awaitInPage("absent", "absence of " + locator, locator, null, null, timeoutMillis));
+            }
+            return waitForMillis(driver, timeoutMillis).until("absence of " + locator, d -> d.findElements(locator).isEmpty());
+        } catch (TimeoutException e) {
             return false;
         }
     }
 
-    // Random delay function
+    // Random delay function (1s - 3s by default; length decided by the pacing policy, see Pacing)
     public static void realisticDelay() throws InterruptedException {
-        int delay = ThreadLocalRandom.current().nextInt(1000, 3000); // 1s - 3s
-        Thread.sleep(delay);
+        Pacing.pause(Pacing.Pause.SHORT);
     }
 
     public void scrollToElement(WebElement element) {
@@ -172,10 +552,9 @@ public class SeleniumHelper {
         js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
     }
 
-    // Function to generate a random delay between 7 to 12 seconds
+    // Function to generate a random delay between 7 to 12 seconds (length decided by the pacing policy)
     public static void randomDelay() throws InterruptedException {
-        int randomTime = ThreadLocalRandom.current().nextInt(7000, 12000); // 7s - 12s
-        Thread.sleep(randomTime);
+        Pacing.pause(Pacing.Pause.LONG);
     }
 
     // Function to simulate human-like scrolling
@@ -0,0 +1,138 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Authentication cookies per account, captured after one real login and replayed into later browser sessions.
+ * <p>
+ * Replayed sessions are only trusted after the page shows the logged-in header (see
+ * {@link MainFunctionalities#loginWithSession}); a rejected session is dropped and the account logs in again.
+ */
+public class SessionCache {
+    private static final Logger logger = LogManager.getLogger(SessionCache.class);
+
+    private static final boolean ENABLED = ConfigReader.getBooleanProperty("session.cache.enabled", true);
+    private static final Set<String> AUTH_COOKIES = Arrays.stream(
+                    ConfigReader.getProperty("session.authCookies", ".Nop.Authentication").split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toSet());
+
+    private static final Map<String, List<Cookie>> sessions = new ConcurrentHashMap<>();
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong logins = new AtomicLong();
+    private static final AtomicLong expired = new AtomicLong();
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    // One real login per account at a time, so parallel tests on the same account share its result
+    static Object lockFor(String account) {
+        return locks.computeIfAbsent(key(account), k -> new Object());
+    }
+
+    /**
+     * Puts the account's cached auth cookies into the browser. The caller reloads the page and validates.
+     *
+     * @return false when nothing is cached for the account
+     */
+    static boolean restore(WebDriver driver, String account) {
+        List<Cookie> cookies = sessions.get(key(account));
+        if (cookies == null) return false;
+
+        String baseUrl = ConfigReader.getProperty("baseURL", "https://demo.nopcommerce.com/");
+        if (!host(driver.getCurrentUrl()).equals(host(baseUrl))) {
+            driver.get(baseUrl);
+        }
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        logger.info("🔑 Replayed cached session for " + account + " (" + cookies.size() + " cookie(s)).");
+        return true;
+    }
+
+    // Keeps the auth cookies of the logged-in browser for the account
+    static void capture(WebDriver driver, String account) {
+        logins.incrementAndGet();
+        List<Cookie> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            if (AUTH_COOKIES.contains(cookie.getName())) {
+                cookies.add(cookie);
+            }
+        }
+        if (cookies.isEmpty()) {
+            logger.warn("No auth cookies " + AUTH_COOKIES + " found after login for " + account + ", session not cached.");
+            return;
+        }
+        sessions.put(key(account), cookies);
+        logger.info("🔑 Cached session for " + account + ".");
+    }
+
+    // Keeps auth cookies obtained over HTTP (APIHelper), e.g. right after an account was registered
+    static void store(String account, Map<String, String> httpCookies) {
+        List<Cookie> cookies = new ArrayList<>();
+        for (Map.Entry<String, String> cookie : httpCookies.entrySet()) {
+            if (AUTH_COOKIES.contains(cookie.getKey())) {
+                cookies.add(new Cookie.Builder(cookie.getKey(), cookie.getValue()).path("/").isHttpOnly(true).build());
+            }
+        }
+        if (!cookies.isEmpty()) {
+            sessions.put(key(account), cookies);
+            logger.info("🔑 Cached HTTP session for " + account + ".");
+        }
+    }
+
+    static void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    // Drops a session the site no longer accepts (expired, logged out elsewhere, password changed)
+    public static void invalidate(String account) {
+        if (sessions.remove(key(account)) != null) {
+            expired.incrementAndGet();
+            logger.info("🔑 Dropped cached session for " + account + ".");
+        }
+    }
+
+    private static String key(String account) {
+        return account.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String host(String url) {
+        try {
+            String host = url == null ? null : URI.create(url).getHost();
+            return host == null ? "" : host;
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getLogins() {
+        return logins.get();
+    }
+
+    public static long getExpired() {
+        return expired.get();
+    }
+}
@@ -0,0 +1,338 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.annotations.DataProvider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Customers and payment cards used by the checkout and payment tests, parsed once per run into immutable records.
+ * <p>
+ * Records come from src/test/resources/data.json plus the free-text checkout sheet
+ * ({@code testdata.checkoutFile}, "Key: value" lines) when it is present; a sheet customer whose email is already
+ * in data.json is skipped. The data providers below run their rows in parallel.
+ */
+public final class TestData {
+    private static final Logger logger = LogManager.getLogger(TestData.class);
+
+    private static final String JSON_FILE = "src/test/resources/data.json";
+
+    // Sheet values that differ from the site's option text
+    private static final Map<String, String> COUNTRY_ALIASES = Map.of(
+            "USA", "United States of America",
+            "US", "United States of America",
+            "UK", "United Kingdom");
+
+    // Sheet keys a Customer cannot be built without
+    private static final List<String> SHEET_REQUIRED_KEYS = List.of("email", "first name", "last name", "city", "address 1", "zip/postal");
+
+    private TestData() {
+    }
+
+    public static final class Address {
+        private final String country;
+        private final String state;
+        private final String city;
+        private final String address1;
+        private final String zip;
+
+        Address(String country, String state, String city, String address1, String zip) {
+            this.country = country;
+            this.state = state;
+            this.city = city;
+            this.address1 = address1;
+            this.zip = zip;
+        }
+
+        public String getCountry() {
+            return country;
+        }
+
+        public String getState() {
+            return state;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public String getAddress1() {
+            return address1;
+        }
+
+        public String getZip() {
+            return zip;
+        }
+    }
+
+    public static final class Customer {
+        private final String id;
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private final String phone;
+        private final Address address;
+
+        Customer(String id, String firstName, String lastName, String email, String phone, Address address) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.phone = phone;
+            this.address = address;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getPhone() {
+            return phone;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+
+    public static final class Card {
+        private final String id;
+        private final String brand;
+        private final String holderName;
+        private final String number;
+        private final String expiryMonth;
+        private final String expiryYear;
+        private final String code;
+
+        Card(String id, String brand, String holderName, String number, String expiryMonth, String expiryYear, String code) {
+            this.id = id;
+            this.brand = brand;
+            this.holderName = holderName;
+            this.number = number;
+            this.expiryMonth = expiryMonth;
+            this.expiryYear = expiryYear;
+            this.code = code;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getBrand() {
+            return brand;
+        }
+
+        public String getHolderName() {
+            return holderName;
+        }
+
+        public String getNumber() {
+            return number;
+        }
+
+        public String getExpiryMonth() {
+            return expiryMonth;
+        }
+
+        public String getExpiryYear() {
+            return expiryYear;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+
+    // Loaded on first use; the holder idiom makes the single parse thread-safe without locking afterwards
+    private static final class Store {
+        static final Map<String, Customer> CUSTOMERS = new LinkedHashMap<>();
+        static final Map<String, Card> CARDS = new LinkedHashMap<>();
+
+        static {
+            long start = System.currentTimeMillis();
+            loadJson();
+            loadCheckoutSheet();
+            logger.info("📇 Test data loaded: " + CUSTOMERS.size() + " customer(s), " + CARDS.size() + " card(s) in "
+                    + (System.currentTimeMillis() - start) + "ms");
+        }
+    }
+
+    public static List<Customer> customers() {
+        return Collections.unmodifiableList(new ArrayList<>(Store.CUSTOMERS.values()));
+    }
+
+    public static List<Card> cards() {
+        return Collections.unmodifiableList(new ArrayList<>(Store.CARDS.values()));
+    }
+
+    public static Customer customer(String id) {
+        Customer customer = Store.CUSTOMERS.get(id);
+        if (customer == null) {
+            throw new RuntimeException("No test customer '" + id + "' (known: " + Store.CUSTOMERS.keySet() + ")");
+        }
+        return customer;
+    }
+
+    public static Card card(String id) {
+        Card card = Store.CARDS.get(id);
+        if (card == null) {
+            throw new RuntimeException("No test card '" + id + "' (known: " + Store.CARDS.keySet() + ")");
+        }
+        return card;
+    }
+
+    /**
+     * Positional form used by the checkout helpers in MainFunctionalities: name, email, address and phone
+     * (indexes 0-8), followed by the card (9-13) when one is given.
+     */
+    public static String[] details(Customer customer, Card card) {
+        Address address = customer.getAddress();
+        List<String> details = new ArrayList<>(List.of(
+                customer.getFirstName(), customer.getLastName(), customer.getEmail(),
+                address.getCountry(), address.getState(), address.getCity(), address.getAddress1(), address.getZip(),
+                customer.getPhone()));
+        if (card != null) {
+            details.addAll(List.of(card.getHolderName(), card.getNumber(), card.getExpiryMonth(), card.getExpiryYear(), card.getCode()));
+        }
+        return details.toArray(new String[0]);
+    }
+
+    public static String[] details(Customer customer) {
+        return details(customer, null);
+    }
+
+    // Every customer, one row each
+    @DataProvider(name = "customers", parallel = true)
+    public static Object[][] customerRows() {
+        return customers().stream().map(customer -> new Object[]{customer}).toArray(Object[][]::new);
+    }
+
+    // Every customer paired with every card
+    @DataProvider(name = "customerCards", parallel = true)
+    public static Object[][] customerCardRows() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Customer customer : customers()) {
+            for (Card card : cards()) {
+                rows.add(new Object[]{customer, card});
+            }
+        }
+        return rows.toArray(new Object[0][]);
+    }
+
+    private static void loadJson() {
+        JSONObject root;
+        try {
+            String content = Files.readString(Paths.get(JSON_FILE), StandardCharsets.UTF_8);
+            root = content.isBlank() ? new JSONObject() : new JSONObject(content);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read test data file " + JSON_FILE + ": " + e.getMessage(), e);
+        }
+
+        JSONArray customers = root.optJSONArray("customers");
+        for (int i = 0; customers != null && i < customers.length(); i++) {
+            JSONObject json = customers.getJSONObject(i);
+            JSONObject address = json.getJSONObject("address");
+            addCustomer(new Customer(json.getString("id"), json.getString("firstName"), json.getString("lastName"),
+                    json.getString("email"), json.optString("phone", ""),
+                    new Address(country(address.getString("country")), address.optString("state", ""),
+                            address.getString("city"), address.getString("address1"), address.getString("zip"))));
+        }
+
+        JSONArray cards = root.optJSONArray("cards");
+        for (int i = 0; cards != null && i < cards.length(); i++) {
+            JSONObject json = cards.getJSONObject(i);
+            addCard(new Card(json.getString("id"), json.optString("brand", ""), json.getString("holderName"),
+                    json.getString("number"), json.getString("expiryMonth"), json.getString("expiryYear"), json.getString("code")));
+        }
+    }
+
+    // Free-text sheet: "Key: value" lines, "Expiration date: yyyy/mm"
+    private static void loadCheckoutSheet() {
+        Path sheet = Paths.get(ConfigReader.getProperty("testdata.checkoutFile", "../config/test-data/checkout_data.txt"));
+        if (!Files.isRegularFile(sheet)) return;
+
+        Map<String, String> values = new HashMap<>();
+        try {
+            for (String line : Files.readAllLines(sheet, StandardCharsets.UTF_8)) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    values.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Skipping test data sheet " + sheet + ": " + e.getMessage());
+            return;
+        }
+
+        List<String> missing = SHEET_REQUIRED_KEYS.stream()
+                .filter(key -> values.getOrDefault(key, "").isEmpty())
+                .toList();
+        if (!missing.isEmpty()) {
+            logger.warn("Skipping test data sheet " + sheet + ": missing " + missing);
+            return;
+        }
+
+        String email = values.get("email");
+        boolean known = Store.CUSTOMERS.values().stream().anyMatch(c -> c.getEmail().equalsIgnoreCase(email));
+        if (known) return;
+
+        String id = "sheet-" + email.substring(0, email.indexOf('@') > 0 ? email.indexOf('@') : email.length());
+        addCustomer(new Customer(id, values.get("first name"), values.get("last name"), email,
+                values.getOrDefault("phone number", ""),
+                new Address(country(values.getOrDefault("country", "")), values.getOrDefault("state", ""),
+                        values.get("city"), values.get("address 1"), values.get("zip/postal"))));
+
+        String[] expiry = values.getOrDefault("expiration date", "").split("/");
+        if (values.containsKey("card number") && expiry.length == 2) {
+            addCard(new Card(id + "-card", values.getOrDefault("brand", ""), values.get("cardholder name"),
+                    values.get("card number"), expiry[1].trim(), expiry[0].trim(), values.get("card code")));
+        }
+    }
+
+    private static void addCustomer(Customer customer) {
+        Store.CUSTOMERS.put(customer.getId(), customer);
+    }
+
+    private static void addCard(Card card) {
+        Store.CARDS.put(card.getId(), card);
+    }
+
+    private static String country(String value) {
+        return COUNTRY_ALIASES.getOrDefault(value.trim(), value.trim());
+    }
+}
@@ -0,0 +1,218 @@
+package utils;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The single explicit wait used by the framework (sessions run with a zero implicit wait).
+ * <p>
+ * Instances are cached per driver and timeout by {@link SeleniumHelper#waitFor(WebDriver, long)} and are
+ * safe to reuse. Polling starts fast and backs off, and every wait records how long it actually took
+ * against its timeout budget, keyed by its label, so slow waits can be tuned.
+ * <p>
+ * Because instances are shared, the FluentWait settings (timeout, polling, ignored exceptions, message) are
+ * fixed: polling is the configured back-off, {@code NotFoundException} and {@code StaleElementReferenceException}
+ * are ignored, and the setters throw instead of silently changing a wait other callers use.
+ */
+public class WaitEngine extends WebDriverWait {
+
+    private static final long POLL_INITIAL_MILLIS = Math.max(1, ConfigReader.getIntProperty("wait.pollInitialMillis", 50));
+    private static final long POLL_MAX_MILLIS = Math.max(POLL_INITIAL_MILLIS, ConfigReader.getIntProperty("wait.pollMaxMillis", 500));
+    private static final double POLL_BACKOFF = parseBackoff(ConfigReader.getProperty("wait.pollBackoff", "1.5"));
+
+    private static final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    // Conditions without a readable toString (lambdas, method references) share this label
+    static final String UNLABELLED = "unlabelled";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private boolean configured; // false while WebDriverWait's constructor applies its own settings
+
+    WaitEngine(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+        this.driver = driver;
+        this.timeout = timeout;
+        this.configured = true;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> condition) {
+        return until(labelOf(condition), condition);
+    }
+
+    // ExpectedConditions describe themselves ("visibility of element located by ..."); lambdas only print their class
+    private static String labelOf(Object condition) {
+        String label = String.valueOf(condition);
+        return label.contains("$$Lambda") || label.contains("$Lambda") ? UNLABELLED : label;
+    }
+
+    @Override
+    public FluentWait<WebDriver> withTimeout(Duration duration) {
+        return configured ? unsupported("withTimeout") : super.withTimeout(duration);
+    }
+
+    @Override
+    public FluentWait<WebDriver> pollingEvery(Duration interval) {
+        return configured ? unsupported("pollingEvery") : super.pollingEvery(interval);
+    }
+
+    @Override
+    public <K extends Throwable> FluentWait<WebDriver> ignoreAll(Collection<Class<? extends K>> types) {
+        return configured ? unsupported("ignoring") : super.ignoreAll(types);
+    }
+
+    @Override
+    public FluentWait<WebDriver> withMessage(String message) {
+        return configured ? unsupported("withMessage") : super.withMessage(message);
+    }
+
+    @Override
+    public FluentWait<WebDriver> withMessage(Supplier<String> messageSupplier) {
+        return configured ? unsupported("withMessage") : super.withMessage(messageSupplier);
+    }
+
+    private static FluentWait<WebDriver> unsupported(String setting) {
+        throw new UnsupportedOperationException("WaitEngine instances are shared, " + setting
+                + "() is not supported; use SeleniumHelper.waitForMillis for another timeout");
+    }
+
+    /**
+     * Polls {@code condition} until it returns a non-null, non-false value or the timeout budget is spent.
+     *
+     * @param label     Name the wait is reported under (the locator or condition description)
+     * @param condition Condition to evaluate against the driver
+     * @return The condition's first truthy value
+     * @throws TimeoutException when the budget runs out
+     */
+    public <V> V until(String label, Function<? super WebDriver, V> condition) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long poll = POLL_INITIAL_MILLIS;
+        RuntimeException lastError = null;
+
+        while (true) {
+            try {
+                V value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record(label, start, false);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                long waited = record(label, start, true);
+                throw new TimeoutException("Expected condition failed: waiting for " + label
+                        + " (tried for " + waited + "ms of a " + timeout.toMillis() + "ms budget)", lastError);
+            }
+
+            try {
+                Thread.sleep(Math.min(poll, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for " + label, e);
+            }
+            poll = Math.min(POLL_MAX_MILLIS, (long) Math.ceil(poll * POLL_BACKOFF));
+        }
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    private long record(String label, long startNanos, boolean timedOut) {
+        long waited = (System.nanoTime() - startNanos) / 1_000_000;
+        record(label, waited, timeout.toMillis(), timedOut);
+        return waited;
+    }
+
+    // Also used by the in-page waits in SeleniumHelper, so every wait shows up in the same statistics
+    static void record(String label, long waitedMillis, long budgetMillis, boolean timedOut) {
+        stats.computeIfAbsent(label, k -> new Stats()).add(waitedMillis, budgetMillis, timedOut);
+    }
+
+    private static double parseBackoff(String value) {
+        try {
+            return Math.max(1.0, Double.parseDouble(value));
+        } catch (NumberFormatException e) {
+            System.err.println("Warning: Property 'wait.pollBackoff' is not a number, using 1.5.");
+            return 1.5;
+        }
+    }
+
+    // Waited time per condition, aggregated over the whole run
+    public static class Stats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private volatile long budgetMillis;
+
+        void add(long waited, long budget, boolean timedOut) {
+            count.incrementAndGet();
+            totalMillis.addAndGet(waited);
+            maxMillis.accumulateAndGet(waited, Math::max);
+            budgetMillis = budget;
+            if (timedOut) timeouts.incrementAndGet();
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getTotalMillis() {
+            return totalMillis.get();
+        }
+
+        public long getMaxMillis() {
+            return maxMillis.get();
+        }
+
+        public long getTimeouts() {
+            return timeouts.get();
+        }
+
+        public long getBudgetMillis() {
+            return budgetMillis;
+        }
+
+        @Override
+        public String toString() {
+            return count + " wait(s), total " + totalMillis + "ms, max " + maxMillis + "ms of " + budgetMillis
+                    + "ms budget, timeouts " + timeouts;
+        }
+    }
+
+    // Conditions that cost the most time overall, slowest first
+    public static List<Map.Entry<String, Stats>> getSlowestWaits(int limit) {
+        List<Map.Entry<String, Stats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Stats> e) -> e.getValue().getTotalMillis()).reversed());
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    public static long getTotalWaitMillis() {
+        return stats.values().stream().mapToLong(Stats::getTotalMillis).sum();
+    }
+
+    public static long getTotalTimeouts() {
+        return stats.values().stream().mapToLong(Stats::getTimeouts).sum();
+    }
+}
@@ -0,0 +1,118 @@
+const crypto = require('crypto');
+const puppeteer = require('puppeteer-extra');
+const StealthPlugin = require('puppeteer-extra-plugin-stealth');
+
+puppeteer.use(StealthPlugin());
+
+const USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+// Hard upper bound for a challenge to resolve (set by CloudflareBypass from config.properties)
+const CHALLENGE_TIMEOUT_MS = parseInt(process.env.BYPASS_CHALLENGE_TIMEOUT_MS || "15000", 10);
+const POLL_INTERVAL_MS = 250;
+
+// Markers of a Cloudflare interstitial: the "Just a moment..." title, the challenge form or the Turnstile frame
+async function isChallengePage(page) {
+    return page.evaluate(() =>
+        /just a moment|attention required/i.test(document.title) ||
+        !!document.querySelector('#challenge-form, #challenge-running, #cf-challenge-running, iframe[src*="challenges.cloudflare.com"]')
+    ).catch(() => true); // Context destroyed mid-check: a navigation is under way, treat as still challenged
+}
+
+async function clearanceValue(page) {
+    const cookies = await page.cookies().catch(() => []);
+    const clearance = cookies.find(cookie => cookie.name === 'cf_clearance');
+    return clearance ? clearance.value : null;
+}
+
+// Only a cf_clearance issued while we waited proves this challenge solved; one already in the jar does not
+async function hasNewClearance(page, clearanceBefore) {
+    const value = await clearanceValue(page);
+    return !!value && value !== clearanceBefore;
+}
+
+// Resolves as soon as the challenge is solved: a new cf_clearance appears, the challenge markers are gone,
+// or the page navigates away from the interstitial. Gives up after CHALLENGE_TIMEOUT_MS.
+async function waitForChallenge(page, clearanceBefore) {
+    const deadline = Date.now() + CHALLENGE_TIMEOUT_MS;
+    let navigated = false;
+    const onNavigation = frame => { if (frame === page.mainFrame()) navigated = true; };
+    page.on('framenavigated', onNavigation);
+
+    try {
+        while (Date.now() < deadline) {
+            if (await hasNewClearance(page, clearanceBefore)) return true;
+            if (navigated) {
+                await page.waitForNavigation({ waitUntil: 'domcontentloaded', timeout: Math.max(1, deadline - Date.now()) }).catch(() => {});
+                navigated = false;
+                if (!(await isChallengePage(page))) return true;
+            } else if (!(await isChallengePage(page))) {
+                return true;
+            }
+            await new Promise(resolve => setTimeout(resolve, POLL_INTERVAL_MS));
+        }
+        return false;
+    } finally {
+        page.off('framenavigated', onNavigation);
+    }
+}
+
+// Shared by the one-shot script (bypass_cloudflare.js) and the long-lived daemon (bypass_daemon.js)
+async function launchBrowser() {
+    return puppeteer.launch({
+        headless: "new", // Ensures better detection avoidance
+        args: ['--no-sandbox', '--disable-setuid-sandbox'],
+        executablePath: puppeteer.executablePath()
+    });
+}
+
+// mode "lean" (default): cookies plus a small digest of the page; mode "full": cookies plus the whole HTML.
+// The page is opened in target: a browser, or a browser context of its own (the daemon passes one per request)
+async function bypass(target, url, mode = 'lean') {
+    const page = await target.newPage();
+    try {
+        // Set a realistic user-agent to avoid detection
+        await page.setUserAgent(USER_AGENT);
+
+        // Navigate to URL
+        const response = await page.goto(url, { waitUntil: 'networkidle2' });
+
+        // Wait for Cloudflare challenge (if any) only as long as it actually takes
+        const challengeSeen = await isChallengePage(page);
+        const challengeStart = Date.now();
+        let challengeSolved = true;
+        if (challengeSeen) {
+            const clearanceBefore = await clearanceValue(page);
+
+            // Simulate human-like interaction, which some challenges require before they resolve
+            await page.mouse.move(100, 100);
+            await page.mouse.click(100, 100);
+            challengeSolved = await waitForChallenge(page, clearanceBefore);
+        }
+        const challengeMillis = challengeSeen ? Date.now() - challengeStart : 0;
+        const challenge = { challengeSeen, challengeSolved, challengeMillis };
+
+        // Extract page content
+        const html = await page.evaluate(() => document.documentElement.outerHTML);
+
+        // Extract cookies
+        const cookies = await page.cookies();
+
+        if (mode === 'full') {
+            return { html, cookies, ...challenge };
+        }
+
+        // Digest only: enough to tell a real page from a challenge page without shipping the HTML
+        return {
+            cookies,
+            status: response ? response.status() : 0,
+            title: await page.title(),
+            contentHash: crypto.createHash('sha256').update(html).digest('hex'),
+            contentLength: html.length,
+            ...challenge
+        };
+    } finally {
+        await page.close().catch(() => {});
+    }
+}
+
+module.exports = { launchBrowser, bypass };
@@ -0,0 +1,87 @@
+const readline = require('readline');
+const { launchBrowser, bypass } = require('./bypass_core');
+
+// Long-lived bypass sidecar: one browser (a fresh context per request), newline-delimited JSON over stdin/stdout.
+//   request:  {"id": 1, "type": "bypass", "url": "https://...", "mode": "lean"} | {"id": 2, "type": "ping"} | {"type": "shutdown"}
+//   response: {"id": 1, "cookies": [...], "status": 200, "title": "...", "contentHash": "..."}
+//             | {"id": 2, "pong": true} | {"id": n, "error": "..."}
+//   mode "full" returns {"id": 1, "html": "...", "cookies": [...]} instead of the digest.
+// Diagnostics go to stderr so stdout only ever carries protocol lines.
+
+let browserPromise = null;
+
+function getBrowser() {
+    if (!browserPromise) {
+        browserPromise = launchBrowser().then(browser => {
+            // Relaunch lazily if Chromium dies underneath us
+            browser.on('disconnected', () => { browserPromise = null; });
+            return browser;
+        }).catch(error => {
+            browserPromise = null;
+            throw error;
+        });
+    }
+    return browserPromise;
+}
+
+function send(message) {
+    process.stdout.write(JSON.stringify(message) + "\n");
+}
+
+async function handle(request) {
+    const id = request.id;
+    try {
+        switch (request.type) {
+            case 'ping':
+                await getBrowser();
+                send({ id, pong: true });
+                break;
+            case 'bypass': {
+                // A fresh context per request: its own cookie jar, so no cookies carry over between requests
+                // and concurrent requests never write into the same jar
+                const context = await (await getBrowser()).createBrowserContext();
+                try {
+                    send({ id, ...(await bypass(context, request.url, request.mode)) });
+                } finally {
+                    await context.close().catch(() => {});
+                }
+                break;
+            }
+            case 'shutdown':
+                await shutdown();
+                break;
+            default:
+                send({ id, error: "Unknown request type: " + request.type });
+        }
+    } catch (error) {
+        send({ id, error: error.message });
+    }
+}
+
+async function shutdown() {
+    if (browserPromise) {
+        const browser = await browserPromise.catch(() => null);
+        if (browser) await browser.close().catch(() => {});
+    }
+    process.exit(0);
+}
+
+const input = readline.createInterface({ input: process.stdin });
+
+input.on('line', line => {
+    if (!line.trim()) return;
+    let request;
+    try {
+        request = JSON.parse(line);
+    } catch (error) {
+        send({ error: "Invalid request: " + error.message });
+        return;
+    }
+    handle(request); // Requests run concurrently, each in its own browser context
+});
+
+// Java side closed our stdin: it is gone, so are we
+input.on('close', shutdown);
+
+// Start the browser right away so the first request only pays for a page load
+getBrowser().then(() => console.error("bypass daemon ready"), error => console.error("browser launch failed: " + error.message));